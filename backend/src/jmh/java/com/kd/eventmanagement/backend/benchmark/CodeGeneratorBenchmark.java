@@ -0,0 +1,27 @@
+package com.kd.eventmanagement.backend.benchmark;
+
+import com.kd.eventmanagement.backend.common.util.CodeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeGeneratorBenchmark {
+
+    private long seq;
+
+    @Benchmark
+    public String eventCode() {
+        return CodeGenerator.eventCode();
+    }
+
+    @Benchmark
+    public String ticketNo() {
+        return CodeGenerator.ticketNo(++seq);
+    }
+}
@@ -0,0 +1,69 @@
+package com.kd.eventmanagement.backend.benchmark;
+
+import com.kd.eventmanagement.backend.common.helper.HashidsHelper;
+import com.kd.eventmanagement.backend.common.mapper.EventMapper;
+import com.kd.eventmanagement.backend.config.HashIdProperties;
+import com.kd.eventmanagement.backend.dto.respone.EventResponse;
+import com.kd.eventmanagement.backend.entity.Event;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+
+    private EventMapper eventMapper;
+    private Event event;
+    private Event eventWithoutHashId;
+
+    @Setup
+    public void setup() {
+        HashIdProperties props = new HashIdProperties();
+        props.setSalt("benchmark-salt");
+        props.setMinLength(6);
+        HashidsHelper hashidsHelper = new HashidsHelper(props);
+        eventMapper = new EventMapper(hashidsHelper);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        event = Event.builder()
+                .id(4_321L)
+                .hashId(hashidsHelper.encode(4_321L))
+                .code("EVTABC2345")
+                .title("Benchmark Conference")
+                .description("A representative event description used for mapping benchmarks.")
+                .location("Phnom Penh")
+                .startAt(now.plusDays(7))
+                .endAt(now.plusDays(7).plusHours(8))
+                .status(Event.EventStatus.PUBLISHED)
+                .createdAt(now)
+                .build();
+        // A row the hash id backfill has not reached: the mapper encodes on the fly
+        eventWithoutHashId = Event.builder()
+                .id(event.getId())
+                .code(event.getCode())
+                .title(event.getTitle())
+                .description(event.getDescription())
+                .location(event.getLocation())
+                .startAt(event.getStartAt())
+                .endAt(event.getEndAt())
+                .status(event.getStatus())
+                .createdAt(event.getCreatedAt())
+                .build();
+    }
+
+    @Benchmark
+    public EventResponse toResponse() {
+        return eventMapper.toResponse(event);
+    }
+
+    @Benchmark
+    public EventResponse toResponseWithoutStoredHashId() {
+        return eventMapper.toResponse(eventWithoutHashId);
+    }
+}
@@ -0,0 +1,112 @@
+package com.kd.eventmanagement.backend.benchmark;
+
+import com.kd.eventmanagement.backend.common.helper.EventIdentifierResolver;
+import com.kd.eventmanagement.backend.common.helper.HashidsHelper;
+import com.kd.eventmanagement.backend.common.util.CodeGenerator;
+import com.kd.eventmanagement.backend.config.HashIdProperties;
+import org.hashids.Hashids;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashidsBenchmark {
+
+    private HashidsHelper hashidsHelper;
+    private EventIdentifierResolver resolver;
+    private Hashids hashids;
+    private Long id;
+    private UUID uuid;
+    private String longHash;
+    private String uuidHash;
+    private String eventCode;
+    private String backfillPendingHash;
+    private String unknown;
+    // In-memory stand-ins for the snapshot cache lookups, so only the resolver itself is measured
+    private Map<String, Long> byCode;
+    private Map<String, Long> byHashId;
+    private Map<Long, Long> byId;
+
+    @Setup
+    public void setup() {
+        HashIdProperties props = new HashIdProperties();
+        props.setSalt("benchmark-salt");
+        props.setMinLength(6);
+        hashidsHelper = new HashidsHelper(props);
+        hashids = new Hashids(props.getSalt(), props.getMinLength());
+        id = 123_456L;
+        uuid = UUID.randomUUID();
+        longHash = hashidsHelper.encode(id);
+        uuidHash = hashidsHelper.encode(uuid);
+        eventCode = CodeGenerator.eventCode();
+        resolver = new EventIdentifierResolver(hashidsHelper);
+        // An id whose row the hash id backfill has not reached: only a decode finds it
+        backfillPendingHash = hashidsHelper.encode(654_321L);
+        unknown = "no-such-event";
+        byCode = Map.of(eventCode, 1L);
+        byHashId = Map.of(longHash, id);
+        byId = Map.of(id, id, 654_321L, 654_321L);
+    }
+
+    @Benchmark
+    public String encodeLong() {
+        return hashidsHelper.encode(id);
+    }
+
+    @Benchmark
+    public String encodeLongUncached() {
+        return hashids.encode(id);
+    }
+
+    @Benchmark
+    public Long decodeLong() {
+        return hashidsHelper.decodeLong(longHash);
+    }
+
+    @Benchmark
+    public String encodeUuid() {
+        return hashidsHelper.encode(uuid);
+    }
+
+    @Benchmark
+    public UUID decodeUuid() {
+        return hashidsHelper.decode(uuidHash);
+    }
+
+    // EventIdentifierResolver, as used by every event lookup by code or hashid
+
+    @Benchmark
+    public Optional<Long> resolveCode() {
+        return resolve(eventCode);
+    }
+
+    @Benchmark
+    public Optional<Long> resolveStoredHashId() {
+        return resolve(longHash);
+    }
+
+    @Benchmark
+    public Optional<Long> resolveDecodedHashId() {
+        return resolve(backfillPendingHash);
+    }
+
+    @Benchmark
+    public Optional<Long> resolveUnknown() {
+        return resolve(unknown);
+    }
+
+    private Optional<Long> resolve(String codeOrHash) {
+        return resolver.resolve(codeOrHash,
+                code -> Optional.ofNullable(byCode.get(code)),
+                hashId -> Optional.ofNullable(byHashId.get(hashId)),
+                eventId -> Optional.ofNullable(byId.get(eventId)));
+    }
+}
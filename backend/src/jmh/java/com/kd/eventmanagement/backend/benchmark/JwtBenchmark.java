@@ -0,0 +1,60 @@
+package com.kd.eventmanagement.backend.benchmark;
+
+import com.kd.eventmanagement.backend.common.util.JwtUtil;
+import com.kd.eventmanagement.backend.entity.Role;
+import com.kd.eventmanagement.backend.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue on login and the parse done by JwtAuthenticationFilter on every authenticated request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        String secret = Base64.getEncoder().encodeToString("benchmark-jwt-secret-at-least-256-bits!!".getBytes());
+        jwtUtil = new JwtUtil(secret, 86_400_000L, 10_000L);
+        // Same key, no verified-token cache: the cost of a token seen for the first time
+        uncachedJwtUtil = new JwtUtil(secret, 86_400_000L, 0L);
+
+        user = User.builder()
+                .username("staff01")
+                .password("unused")
+                .enabled(true)
+                .roles(Set.of(Role.builder().name("STAFF").build()))
+                .createdAt(OffsetDateTime.now())
+                .build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        return uncachedJwtUtil.extractUsername(token);
+    }
+}
@@ -0,0 +1,74 @@
+package com.kd.eventmanagement.backend.benchmark;
+
+import com.kd.eventmanagement.backend.common.helper.QrPayloadHelper;
+import com.kd.eventmanagement.backend.common.util.QrSigner;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QR signing and the payload parsing / verification done on every gate scan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QrPayloadBenchmark {
+
+    private static final String SECRET = "benchmark-qr-secret";
+
+    private QrPayloadHelper v1Helper;
+    private QrPayloadHelper v2Helper;
+    private UUID ticketId;
+    private OffsetDateTime issuedAt;
+    private String base;
+    private String v1Payload;
+    private String v1UrlPayload;
+    private String v2Payload;
+
+    @Setup
+    public void setup() {
+        v1Helper = new QrPayloadHelper(SECRET, "v1");
+        v2Helper = new QrPayloadHelper(SECRET, "v2");
+        ticketId = UUID.randomUUID();
+        issuedAt = OffsetDateTime.now();
+        base = "t=" + ticketId + "&e=EVTABC2345&ts=" + issuedAt.toEpochSecond();
+        v1Payload = v1Helper.sign(ticketId, 42L, "EVTABC2345", issuedAt);
+        v1UrlPayload = "https://tickets.example.com/checkin?" + v1Payload;
+        v2Payload = v2Helper.sign(ticketId, 42L, "EVTABC2345", issuedAt);
+    }
+
+    @Benchmark
+    public String hmacSha256Hex() {
+        return QrSigner.hmacSha256Hex(SECRET, base);
+    }
+
+    @Benchmark
+    public String signV1() {
+        return v1Helper.sign(ticketId, 42L, "EVTABC2345", issuedAt);
+    }
+
+    @Benchmark
+    public String signV2() {
+        return v2Helper.sign(ticketId, 42L, "EVTABC2345", issuedAt);
+    }
+
+    @Benchmark
+    public QrPayloadHelper.QrTicketRef verifyV1() {
+        return v1Helper.verify(v1Payload);
+    }
+
+    @Benchmark
+    public QrPayloadHelper.QrTicketRef verifyV1Url() {
+        return v1Helper.verify(v1UrlPayload);
+    }
+
+    @Benchmark
+    public QrPayloadHelper.QrTicketRef verifyV2() {
+        return v2Helper.verify(v2Payload);
+    }
+}
@@ -3,8 +3,10 @@ package com.kd.eventmanagement.backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EventManagementBackendApplication {
 
     private static ApplicationContext applicationContext;
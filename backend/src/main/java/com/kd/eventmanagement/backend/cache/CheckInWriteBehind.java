@@ -0,0 +1,99 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.kd.eventmanagement.backend.repository.TicketCheckInRepository.PendingCheckIn;
+import com.kd.eventmanagement.backend.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Batches check-ins accepted by the {@link GateTicketIndex} into the database.
+ * Scans return as soon as the in-memory claim succeeds; this component flushes the queue
+ * in JDBC batches on a short fixed delay and retries batches that fail.
+ * <p>
+ * Durability trade-off: a successful scan is only in memory until the next flush. A graceful shutdown
+ * drains the queue, but a crash or kill loses whatever was queued (normally one flush interval's
+ * worth), and those tickets would be admitted again after a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CheckInWriteBehind {
+
+    private final TicketRepository ticketRepository;
+
+    @Value("${app.checkin.write-behind.batch-size:500}")
+    private int batchSize;
+
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    private final BlockingQueue<PendingCheckIn> queue = new LinkedBlockingQueue<>(100_000);
+
+    /**
+     * Queue a check-in, writing it synchronously if the queue is full
+     */
+    public void enqueue(UUID ticketId, String checkedInBy, OffsetDateTime checkedInAt) {
+        PendingCheckIn checkIn = new PendingCheckIn(ticketId, checkedInBy, checkedInAt);
+        if (!queue.offer(checkIn)) {
+            log.warn("Check-in write-behind queue full, writing ticket {} synchronously", ticketId);
+            write(List.of(checkIn));
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.checkin.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        List<PendingCheckIn> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+            } catch (Exception e) {
+                log.error("Failed to flush {} check-ins, will retry", batch.size(), e);
+                long dropped = batch.stream().filter(c -> !queue.offer(c)).count();
+                if (dropped > 0) {
+                    log.error("Dropped {} check-ins that no longer fit in the write-behind queue", dropped);
+                }
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing {} pending check-ins before shutdown", queue.size());
+        // flush() gives up on the first failing batch; retry a few times before losing anything
+        for (int attempt = 0; attempt < SHUTDOWN_FLUSH_ATTEMPTS && !queue.isEmpty(); attempt++) {
+            flush();
+        }
+        if (!queue.isEmpty()) {
+            List<PendingCheckIn> lost = new ArrayList<>();
+            queue.drainTo(lost);
+            log.error("Could not persist {} check-ins before shutdown: {}", lost.size(), lost);
+        }
+    }
+
+    private void write(List<PendingCheckIn> batch) {
+        int[] counts = ticketRepository.markCheckedIn(batch);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                log.warn("Ticket {} was already checked in when its write-behind reached the database",
+                        batch.get(i).ticketId());
+            }
+        }
+        log.debug("Flushed {} check-ins", batch.size());
+    }
+}
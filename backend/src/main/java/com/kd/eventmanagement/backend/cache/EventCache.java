@@ -0,0 +1,108 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.kd.eventmanagement.backend.common.event.EventChangedEvent;
+import com.kd.eventmanagement.backend.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-through cache of event snapshots for public lookups (event page, registration), by id, by
+ * hash id and by code. Codes and hash ids never change, so those indexes only map to an id and the
+ * snapshot itself lives once.
+ * Entries are dropped after commit of any change to the event; the TTL only bounds staleness for
+ * writes made by other instances. Misses are not cached. Hit, miss and eviction counts are exported
+ * as the "events" cache metrics.
+ * <p>
+ * Both caches are loading caches, so concurrent misses for the same key share a single query. Once an
+ * entry is older than the refresh interval the next read still gets it immediately and triggers one
+ * background reload (stale-while-revalidate); only entries past the TTL are loaded in line.
+ */
+@Slf4j
+@Component
+public class EventCache {
+
+    private final EventRepository eventRepository;
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LoadingCache<Long, EventSnapshot> byId;
+    private final LoadingCache<String, Long> idByCode;
+    private final LoadingCache<String, Long> idByHashId;
+
+    public EventCache(EventRepository eventRepository,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.cache.events.refresh-seconds:30}") long refreshSeconds,
+                      @Value("${app.cache.events.ttl-seconds:300}") long ttlSeconds,
+                      @Value("${app.cache.events.max-size:10000}") long maxSize) {
+        this.eventRepository = eventRepository;
+        this.byId = Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(this::load);
+        this.idByCode = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(code -> eventRepository.findIdByCode(code).orElse(null));
+        this.idByHashId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(hashId -> eventRepository.findIdByHashId(hashId).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "events");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByCode, "events.by-code");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByHashId, "events.by-hash-id");
+    }
+
+    public Optional<EventSnapshot> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<EventSnapshot> findByCode(String code) {
+        // Only the id is resolved by code; the snapshot is loaded through byId so a concurrent
+        // invalidation can never be overwritten by a stale read
+        Long id = idByCode.get(code);
+        return id != null ? findById(id) : Optional.empty();
+    }
+
+    public Optional<EventSnapshot> findByHashId(String hashId) {
+        Long id = idByHashId.get(hashId);
+        return id != null ? findById(id) : Optional.empty();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        byId.invalidate(change.eventId());
+        if (change.change() == EventChangedEvent.Change.DELETED) {
+            if (change.code() != null) {
+                idByCode.invalidate(change.code());
+            } else {
+                idByCode.asMap().values().removeIf(change.eventId()::equals);
+            }
+            idByHashId.asMap().values().removeIf(change.eventId()::equals);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+    private EventSnapshot load(Long id) {
+        return eventRepository.findById(id).map(EventSnapshot::of).orElse(null);
+    }
+}
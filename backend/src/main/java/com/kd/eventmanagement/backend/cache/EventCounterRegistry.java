@@ -0,0 +1,119 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kd.eventmanagement.backend.common.util.AfterCommit;
+import com.kd.eventmanagement.backend.repository.AttendeeRepository;
+import com.kd.eventmanagement.backend.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process attendee / check-in counters per event.
+ * Counters are loaded lazily with COUNT queries, bumped by registration and check-in
+ * after commit, and periodically reconciled from the database to absorb any drift
+ * (other instances, manual SQL, races between a load and a concurrent commit).
+ * <p>
+ * Only events read within the idle window stay tracked, so reconciliation (two COUNT queries per
+ * event) covers the events someone is watching rather than every event ever viewed; a dropped event
+ * is reloaded with fresh counts on its next read.
+ */
+@Slf4j
+@Component
+public class EventCounterRegistry {
+
+    private final AttendeeRepository attendeeRepository;
+    private final TicketRepository ticketRepository;
+    private final Cache<Long, Counters> counters;
+
+    public EventCounterRegistry(AttendeeRepository attendeeRepository,
+                                TicketRepository ticketRepository,
+                                @Value("${app.stats.counters.idle-minutes:10}") long idleMinutes,
+                                @Value("${app.stats.counters.max-size:10000}") long maxSize) {
+        this.attendeeRepository = attendeeRepository;
+        this.ticketRepository = ticketRepository;
+        this.counters = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public boolean isTracked(Long eventId) {
+        return counters.asMap().containsKey(eventId);
+    }
+
+    public long attendeeCount(Long eventId) {
+        return load(eventId).attendees.get();
+    }
+
+    public long checkedInCount(Long eventId) {
+        return load(eventId).checkedIn.get();
+    }
+
+    /**
+     * Start tracking an event with counts that were already read from the database
+     */
+    public void seed(Long eventId, long attendees, long checkedIn) {
+        counters.asMap().putIfAbsent(eventId, new Counters(attendees, checkedIn));
+    }
+
+    public void attendeeRegistered(Long eventId) {
+        AfterCommit.run(() -> {
+            Counters c = counters.getIfPresent(eventId);
+            if (c != null) {
+                c.attendees.incrementAndGet();
+            }
+        });
+    }
+
+    public void ticketCheckedIn(Long eventId) {
+        AfterCommit.run(() -> {
+            Counters c = counters.getIfPresent(eventId);
+            if (c != null) {
+                c.checkedIn.incrementAndGet();
+            }
+        });
+    }
+
+    public void evict(Long eventId) {
+        AfterCommit.run(() -> counters.invalidate(eventId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        // Iterating the map view does not count as access, so idle events still expire
+        for (Map.Entry<Long, Counters> entry : counters.asMap().entrySet()) {
+            Long eventId = entry.getKey();
+            try {
+                entry.getValue().attendees.set(attendeeRepository.countByEventId(eventId));
+                entry.getValue().checkedIn.set(ticketRepository.countByEventIdAndCheckedInAtIsNotNull(eventId));
+            } catch (Exception e) {
+                log.warn("Failed to reconcile counters for event {}", eventId, e);
+            }
+        }
+        log.debug("Reconciled counters for {} events", counters.estimatedSize());
+    }
+
+    private Counters load(Long eventId) {
+        return counters.get(eventId, id -> new Counters(
+                attendeeRepository.countByEventId(id),
+                ticketRepository.countByEventIdAndCheckedInAtIsNotNull(id)
+        ));
+    }
+
+    private static final class Counters {
+        private final AtomicLong attendees;
+        private final AtomicLong checkedIn;
+
+        private Counters(long attendees, long checkedIn) {
+            this.attendees = new AtomicLong(attendees);
+            this.checkedIn = new AtomicLong(checkedIn);
+        }
+    }
+}
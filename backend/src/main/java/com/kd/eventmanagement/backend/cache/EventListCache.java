@@ -0,0 +1,114 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.kd.eventmanagement.backend.common.event.EventChangedEvent;
+import com.kd.eventmanagement.backend.common.mapper.EventMapper;
+import com.kd.eventmanagement.backend.dto.respone.EventResponse;
+import com.kd.eventmanagement.backend.entity.Event;
+import com.kd.eventmanagement.backend.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offset listing pages of GET /api/events. Concurrent requests for the same page share one load,
+ * and a page past the refresh interval is served while a single background reload runs.
+ * <p>
+ * Only unfiltered and status-filtered pages are cached: free-text title searches would let any client
+ * fill the cache with one-off keys, so they always go to the database. The cache is bounded by the
+ * number of events it holds rather than by the number of pages.
+ * <p>
+ * Any event change bumps a generation that is part of every key, so a load that was already running
+ * when the change committed lands under a key nobody asks for any more.
+ */
+@Component
+public class EventListCache {
+
+    private final EventRepository eventRepository;
+    private final EventMapper eventMapper;
+    private final AtomicLong generation = new AtomicLong();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LoadingCache<PageKey, Page<EventResponse>> pages;
+
+    public EventListCache(EventRepository eventRepository,
+                          EventMapper eventMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.cache.event-list.refresh-seconds:5}") long refreshSeconds,
+                          @Value("${app.cache.event-list.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${app.cache.event-list.max-events:20000}") long maxEvents) {
+        this.eventRepository = eventRepository;
+        this.eventMapper = eventMapper;
+        this.pages = Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                // An empty page still costs its key
+                .maximumWeight(maxEvents)
+                .weigher((PageKey key, Page<EventResponse> page) -> page.getNumberOfElements() + 1)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "events.pages");
+    }
+
+    /**
+     * @param pageIndex zero-based page
+     * @param title     trimmed title filter, or null
+     */
+    public Page<EventResponse> get(int pageIndex, int pageSize, String title, Event.EventStatus status) {
+        PageKey key = new PageKey(generation.get(), pageIndex, pageSize, title, status);
+        return title != null ? load(key) : pages.get(key);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        generation.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdown();
+    }
+
+    private Page<EventResponse> load(PageKey key) {
+        Pageable pageable = PageRequest.of(
+                key.pageIndex(),
+                key.pageSize(),
+                Sort.by(Sort.Direction.DESC, "createdAt")
+        );
+
+        Page<Event> events;
+
+        boolean hasTitle = key.title() != null;
+        boolean hasStatus = key.status() != null;
+
+        if (hasTitle && hasStatus) {
+            events = eventRepository.findByTitleContainingIgnoreCaseAndStatus(key.title(), key.status(), pageable);
+        } else if (hasTitle) {
+            events = eventRepository.findByTitleContainingIgnoreCase(key.title(), pageable);
+        } else if (hasStatus) {
+            events = eventRepository.findByStatus(key.status(), pageable);
+        } else {
+            events = eventRepository.findAll(pageable);
+        }
+
+        return events.map(eventMapper::toResponse);
+    }
+
+    private record PageKey(long generation, int pageIndex, int pageSize, String title, Event.EventStatus status) {
+    }
+}
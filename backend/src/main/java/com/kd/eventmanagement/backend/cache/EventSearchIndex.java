@@ -0,0 +1,380 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.kd.eventmanagement.backend.common.event.EventChangedEvent;
+import com.kd.eventmanagement.backend.entity.Event;
+import com.kd.eventmanagement.backend.repository.EventRepository;
+import com.kd.eventmanagement.backend.repository.projection.EventSearchView;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Trigram index over event title, location and the start of the description, replacing the
+ * {@code lower(title) like '%x%'} sequential scan. Words are indexed with pg_trgm-style padding, so a
+ * query word of three or more characters matches as a substring and a one- or two-character word as
+ * a word prefix. Matches must contain every query trigram; they are ranked by how many of those
+ * trigrams occur in the title, then newest first.
+ * <p>
+ * Built from the database at startup and kept current from {@link EventChangedEvent}. Updates append
+ * a new slot and tombstone the old one; once tombstones pile up the index is rebuilt in the background.
+ * Until the first build completes {@link #search} returns null and callers fall back to the database.
+ */
+@Slf4j
+@Component
+public class EventSearchIndex {
+
+    private static final int TITLE_BIT = 1;
+    private static final int REBUILD_PAGE_SIZE = 5000;
+
+    private final EventRepository eventRepository;
+    private final int maxDescriptionChars;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-search-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Events changed while a rebuild was scanning; replayed onto the new segment
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile Segment segment;
+
+    public EventSearchIndex(EventRepository eventRepository,
+                            // Descriptions dominate index size; only their opening is searchable
+                            @Value("${app.search.max-description-chars:256}") int maxDescriptionChars) {
+        this.eventRepository = eventRepository;
+        this.maxDescriptionChars = maxDescriptionChars;
+    }
+
+    /**
+     * Ids of matching events, best first
+     *
+     * @return null while the index is still being built
+     */
+    public List<Long> search(String query, Event.EventStatus status, int limit) {
+        Segment current = segment;
+        if (current == null) {
+            return null;
+        }
+        long[] grams = queryGrams(query);
+        if (grams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return current.search(grams, status, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(change.eventId());
+        }
+        reindex(change.eventId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void reindex(Long eventId) {
+        if (segment == null) {
+            return;
+        }
+        EventSearchView view = eventRepository.findSearchViewById(eventId).orElse(null);
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            Segment current = segment;
+            current.remove(eventId);
+            if (view != null) {
+                current.add(view, maxDescriptionChars);
+            }
+            compact = current.needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            long started = System.nanoTime();
+            Segment fresh = new Segment();
+            long after = 0;
+            List<EventSearchView> page;
+            do {
+                page = eventRepository.findSearchPage(after, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (EventSearchView view : page) {
+                    fresh.add(view, maxDescriptionChars);
+                    after = view.getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            lock.writeLock().lock();
+            try {
+                segment = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Event search index built: {} events, {} trigrams in {} ms",
+                    fresh.live(), fresh.postings.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Event search index rebuild failed", e);
+        } finally {
+            rebuilding.set(false);
+        }
+        for (Long eventId : changedDuringRebuild) {
+            changedDuringRebuild.remove(eventId);
+            reindex(eventId);
+        }
+    }
+
+    /**
+     * Query trigrams: inner trigrams of words with three or more characters (substring match),
+     * the padded leading grams of shorter words (prefix match)
+     */
+    static long[] queryGrams(String query) {
+        if (query == null) {
+            return new long[0];
+        }
+        LinkedHashMap<Long, Boolean> grams = new LinkedHashMap<>();
+        for (String word : words(query, Integer.MAX_VALUE)) {
+            if (word.length() >= 3) {
+                for (int i = 0; i + 3 <= word.length(); i++) {
+                    grams.put(gram(word.charAt(i), word.charAt(i + 1), word.charAt(i + 2)), Boolean.TRUE);
+                }
+            } else {
+                String padded = "  " + word;
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    grams.put(gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)), Boolean.TRUE);
+                }
+            }
+        }
+        return grams.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Indexed trigrams: every trigram of each word padded with two leading spaces and one trailing
+     */
+    static void indexGrams(String text, int maxChars, LongConsumer sink) {
+        if (text == null) {
+            return;
+        }
+        for (String word : words(text, maxChars)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                sink.accept(gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+            }
+        }
+    }
+
+    /**
+     * Lowercased runs of letters and digits within the first maxChars characters
+     */
+    private static List<String> words(String text, int maxChars) {
+        List<String> words = new ArrayList<>();
+        int end = Math.min(text.length(), maxChars);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < end; i++) {
+            char ch = text.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                word.append(Character.toLowerCase(ch));
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (!word.isEmpty()) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /**
+     * Slot-ordered posting list; each entry is {@code slot << 1 | titleBit}
+     */
+    private static final class Postings {
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        /**
+         * Index of the entry for slot at or after from, or -1
+         */
+        int find(int slot, int from) {
+            int low = from;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midSlot = entries[mid] >>> 1;
+                if (midSlot < slot) {
+                    low = mid + 1;
+                } else if (midSlot > slot) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class Segment {
+        private static final byte DEAD = -1;
+
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> slotByEventId = new HashMap<>();
+        private long[] eventIds = new long[1024];
+        private byte[] statuses = new byte[1024];
+        private int size;
+        private int dead;
+
+        int live() {
+            return size - dead;
+        }
+
+        boolean needsCompaction() {
+            return dead > Math.max(1000, size / 4);
+        }
+
+        void add(EventSearchView view, int maxDescriptionChars) {
+            if (size == eventIds.length) {
+                eventIds = Arrays.copyOf(eventIds, size * 2);
+                statuses = Arrays.copyOf(statuses, size * 2);
+            }
+            int slot = size++;
+            eventIds[slot] = view.getId();
+            statuses[slot] = (byte) view.getStatus().ordinal();
+            slotByEventId.put(view.getId(), slot);
+
+            Map<Long, Integer> flags = new HashMap<>();
+            indexGrams(view.getTitle(), Integer.MAX_VALUE, gram -> flags.put(gram, TITLE_BIT));
+            indexGrams(view.getLocation(), Integer.MAX_VALUE, gram -> flags.putIfAbsent(gram, 0));
+            indexGrams(view.getDescription(), maxDescriptionChars, gram -> flags.putIfAbsent(gram, 0));
+            int base = slot << 1;
+            flags.forEach((gram, flag) -> postings.computeIfAbsent(gram, g -> new Postings()).add(base | flag));
+        }
+
+        void remove(Long eventId) {
+            Integer slot = slotByEventId.remove(eventId);
+            if (slot != null) {
+                statuses[slot] = DEAD;
+                dead++;
+            }
+        }
+
+        List<Long> search(long[] grams, Event.EventStatus status, int limit) {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            // Rarest first keeps the candidate set small from the start
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            Postings rarest = lists[0];
+            int count = rarest.size;
+            int[] slots = new int[count];
+            int[] titleHits = new int[count];
+            for (int i = 0; i < count; i++) {
+                slots[i] = rarest.entries[i] >>> 1;
+                titleHits[i] = rarest.entries[i] & TITLE_BIT;
+            }
+
+            for (int l = 1; l < lists.length && count > 0; l++) {
+                Postings list = lists[l];
+                int kept = 0;
+                int from = 0;
+                for (int i = 0; i < count; i++) {
+                    int at = list.find(slots[i], from);
+                    if (at >= 0) {
+                        slots[kept] = slots[i];
+                        titleHits[kept] = titleHits[i] + (list.entries[at] & TITLE_BIT);
+                        kept++;
+                        from = at + 1;
+                    }
+                }
+                count = kept;
+            }
+
+            // Keep only the best `limit` matches: worst of them on top of the heap
+            Comparator<int[]> rank = Comparator.<int[]>comparingInt(match -> match[1])
+                    .thenComparingLong(match -> eventIds[match[0]]);
+            PriorityQueue<int[]> best = new PriorityQueue<>(Math.max(1, limit), rank);
+            byte wanted = status != null ? (byte) status.ordinal() : DEAD;
+            for (int i = 0; i < count; i++) {
+                byte slotStatus = statuses[slots[i]];
+                if (slotStatus == DEAD || (status != null && slotStatus != wanted)) {
+                    continue;
+                }
+                int[] match = {slots[i], titleHits[i]};
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (rank.compare(match, best.peek()) > 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+
+            List<Long> result = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                result.add(eventIds[best.poll()[0]]);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.kd.eventmanagement.backend.entity.Event;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Immutable copy of an event's columns, safe to share between requests
+ */
+public record EventSnapshot(
+        Long id,
+        String hashId,
+        String code,
+        String title,
+        String description,
+        String location,
+        OffsetDateTime startAt,
+        OffsetDateTime endAt,
+        Event.EventStatus status,
+        OffsetDateTime createdAt,
+        Long version
+) {
+    public static EventSnapshot of(Event event) {
+        return new EventSnapshot(
+                event.getId(),
+                event.getHashId(),
+                event.getCode(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getLocation(),
+                event.getStartAt(),
+                event.getEndAt(),
+                event.getStatus(),
+                event.getCreatedAt(),
+                event.getVersion()
+        );
+    }
+}
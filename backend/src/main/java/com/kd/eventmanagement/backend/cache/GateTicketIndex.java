@@ -0,0 +1,212 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.kd.eventmanagement.backend.common.util.AfterCommit;
+import com.kd.eventmanagement.backend.entity.Event;
+import com.kd.eventmanagement.backend.entity.Ticket;
+import com.kd.eventmanagement.backend.repository.EventRepository;
+import com.kd.eventmanagement.backend.repository.TicketRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Event-scoped in-memory ticket index used at the gate.
+ * Events are loaded shortly before they start and dropped once they end. While an event is loaded,
+ * ticket validation and duplicate detection are answered from memory; registrations and check-ins
+ * keep it coherent and a periodic resync picks up changes made elsewhere (revocations, other instances).
+ * <p>
+ * A resync merges database state into the existing {@link TicketEntry} objects instead of replacing
+ * them, so a claim or registration that lands while the resync runs is never lost, even when its
+ * write-behind has not reached the database yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GateTicketIndex {
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+
+    @Value("${app.checkin.index.warmup-minutes:60}")
+    private long warmupMinutes;
+
+    @Value("${app.checkin.index.resync-interval-ms:300000}")
+    private long resyncIntervalMs;
+
+    private final Map<Long, EventTickets> eventsById = new ConcurrentHashMap<>();
+    private final Map<String, EventTickets> eventsByCode = new ConcurrentHashMap<>();
+
+    /**
+     * Loaded tickets for the event, or null when the event is not in its gate window
+     */
+    public EventTickets find(String eventCode) {
+        return eventsByCode.get(eventCode);
+    }
+
+    public EventTickets find(Long eventId) {
+        return eventsById.get(eventId);
+    }
+
+    public void ticketIssued(Long eventId, UUID ticketId, String ticketNo, String attendeeName) {
+        AfterCommit.run(() -> {
+            EventTickets tickets = eventsById.get(eventId);
+            if (tickets != null) {
+                tickets.tickets.putIfAbsent(ticketId, new TicketEntry(ticketNo, attendeeName, false, null));
+            }
+        });
+    }
+
+    public void ticketRevoked(Long eventId, UUID ticketId) {
+        AfterCommit.run(() -> {
+            EventTickets tickets = eventsById.get(eventId);
+            TicketEntry entry = tickets != null ? tickets.tickets.get(ticketId) : null;
+            if (entry != null) {
+                entry.revoked = true;
+            }
+        });
+    }
+
+    /**
+     * Record a check-in that was written to the database directly (not through the index)
+     */
+    public void ticketCheckedIn(Long eventId, UUID ticketId, String ticketNo, String attendeeName, OffsetDateTime checkedInAt) {
+        AfterCommit.run(() -> {
+            EventTickets tickets = eventsById.get(eventId);
+            if (tickets != null) {
+                tickets.tickets.computeIfAbsent(ticketId, id -> new TicketEntry(ticketNo, attendeeName, false, null))
+                        .claim(checkedInAt);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.checkin.index.refresh-interval-ms:60000}")
+    public void refresh() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Event> active = eventRepository.findByStartAtLessThanEqualAndEndAtGreaterThanEqual(
+                now.plusMinutes(warmupMinutes), now);
+
+        Set<Long> activeIds = new HashSet<>();
+        for (Event event : active) {
+            activeIds.add(event.getId());
+            EventTickets loaded = eventsById.get(event.getId());
+            boolean stale = loaded == null
+                    || Duration.between(loaded.loadedAt, now).toMillis() >= resyncIntervalMs
+                    || !loaded.startAt.isEqual(event.getStartAt())
+                    || !loaded.endAt.isEqual(event.getEndAt());
+            if (stale) {
+                load(event, loaded, now);
+            }
+        }
+
+        eventsById.values().removeIf(tickets -> {
+            if (activeIds.contains(tickets.eventId)) {
+                return false;
+            }
+            eventsByCode.remove(tickets.code);
+            log.info("Gate index unloaded for event {}", tickets.code);
+            return true;
+        });
+    }
+
+    private void load(Event event, EventTickets previous, OffsetDateTime now) {
+        try {
+            // A resync shares the live ticket map: claims made during the load hit the same entries
+            Map<UUID, TicketEntry> tickets = previous != null ? previous.tickets : new ConcurrentHashMap<>();
+            ticketRepository.forEachTicket(event.getId(), state -> {
+                boolean revoked = state.status() == Ticket.TicketStatus.REVOKED;
+                TicketEntry existing = tickets.putIfAbsent(state.ticketId(),
+                        new TicketEntry(state.ticketNo(), state.attendeeName(), revoked, state.checkedInAt()));
+                if (existing != null) {
+                    existing.merge(revoked, state.checkedInAt());
+                }
+            });
+
+            EventTickets fresh = new EventTickets(event.getId(), event.getCode(), event.getStartAt(), event.getEndAt(),
+                    now, tickets);
+            eventsById.put(fresh.eventId, fresh);
+            eventsByCode.put(fresh.code, fresh);
+            log.info("Gate index loaded {} tickets for event {}", fresh.tickets.size(), fresh.code);
+        } catch (Exception e) {
+            log.error("Failed to load gate index for event {}", event.getCode(), e);
+        }
+    }
+
+    @Getter
+    public static final class EventTickets {
+        private final Long eventId;
+        private final String code;
+        private final OffsetDateTime startAt;
+        private final OffsetDateTime endAt;
+        private final OffsetDateTime loadedAt;
+        private final Map<UUID, TicketEntry> tickets;
+
+        private EventTickets(Long eventId, String code, OffsetDateTime startAt, OffsetDateTime endAt,
+                             OffsetDateTime loadedAt, Map<UUID, TicketEntry> tickets) {
+            this.eventId = eventId;
+            this.code = code;
+            this.startAt = startAt;
+            this.endAt = endAt;
+            this.loadedAt = loadedAt;
+            this.tickets = tickets;
+        }
+
+        public TicketEntry ticket(UUID ticketId) {
+            return tickets.get(ticketId);
+        }
+    }
+
+    /**
+     * Compact per-ticket state. The checked-in timestamp is claimed with a CAS so concurrent
+     * scans of the same ticket resolve to exactly one winner without locking.
+     */
+    @Getter
+    public static final class TicketEntry {
+        private static final AtomicReferenceFieldUpdater<TicketEntry, OffsetDateTime> CHECKED_IN_AT =
+                AtomicReferenceFieldUpdater.newUpdater(TicketEntry.class, OffsetDateTime.class, "checkedInAt");
+
+        private final String ticketNo;
+        private final String attendeeName;
+        private volatile boolean revoked;
+        private volatile OffsetDateTime checkedInAt;
+
+        private TicketEntry(String ticketNo, String attendeeName, boolean revoked, OffsetDateTime checkedInAt) {
+            this.ticketNo = ticketNo;
+            this.attendeeName = attendeeName;
+            this.revoked = revoked;
+            this.checkedInAt = checkedInAt;
+        }
+
+        /**
+         * @return true if this call checked the ticket in, false if it was already checked in
+         */
+        public boolean claim(OffsetDateTime at) {
+            return CHECKED_IN_AT.compareAndSet(this, null, at);
+        }
+
+        /**
+         * Fold in state read from the database. Both only ever move forward: a revocation is never
+         * undone and an existing claim, possibly not yet persisted, always wins.
+         */
+        private void merge(boolean revokedInDatabase, OffsetDateTime checkedInAtInDatabase) {
+            if (revokedInDatabase) {
+                revoked = true;
+            }
+            if (checkedInAtInDatabase != null) {
+                claim(checkedInAtInDatabase);
+            }
+        }
+    }
+}
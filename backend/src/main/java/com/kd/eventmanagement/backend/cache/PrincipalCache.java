@@ -0,0 +1,71 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kd.eventmanagement.backend.common.util.AfterCommit;
+import com.kd.eventmanagement.backend.entity.Role;
+import com.kd.eventmanagement.backend.entity.User;
+import com.kd.eventmanagement.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Enabled flag and authorities per username for JwtAuthenticationFilter, so an authenticated request
+ * costs a hash lookup instead of a user + roles join. Entries expire after a short TTL and are dropped
+ * as soon as a user row changes (see UserChangeListener).
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, CachedPrincipal> principals;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${app.security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${app.security.principal-cache.max-size:1000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * @return the principal, or null when the user does not exist (not cached, so a new user works at once)
+     */
+    public CachedPrincipal get(String username) {
+        return principals.get(username, this::load);
+    }
+
+    public void invalidate(String username) {
+        AfterCommit.run(() -> principals.invalidate(username));
+    }
+
+    public void invalidateAll() {
+        AfterCommit.run(principals::invalidateAll);
+    }
+
+    private CachedPrincipal load(String username) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        log.debug("Loaded principal {} into cache", username);
+        return new CachedPrincipal(user.getUsername(), user.isEnabled(), toAuthorities(user.getRoles().stream().map(Role::getName).toList()));
+    }
+
+    public static List<GrantedAuthority> toAuthorities(List<String> roles) {
+        return roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+    }
+
+    public record CachedPrincipal(String username, boolean enabled, List<GrantedAuthority> authorities) {}
+}
@@ -15,6 +15,7 @@ public enum ErrorCode {
     TOKEN_EXPIRED(4011, "Token has expired"),
     TOKEN_INVALID(4012, "Invalid token"),
     ACCOUNT_DISABLED(4013, "Account is disabled"),
+    TOO_MANY_LOGIN_ATTEMPTS(4014, "Too many concurrent login attempts, please retry shortly"),
     
     // Event
     EVENT_NOT_FOUND(4100, "Event not found"),
@@ -31,6 +32,10 @@ public enum ErrorCode {
     // Attendee
     DUPLICATE_REGISTRATION(4300, "Already registered for this event"),
     ATTENDEE_NOT_FOUND(4301, "Attendee not found"),
+
+    // Broadcast
+    BROADCAST_NOT_FOUND(4500, "Broadcast not found"),
+    BROADCAST_NOT_RUNNING(4501, "Broadcast is no longer running"),
     
     // Validation
     VALIDATION_ERROR(4400, "Validation failed");
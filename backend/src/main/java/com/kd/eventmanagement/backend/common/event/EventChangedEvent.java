@@ -0,0 +1,12 @@
+package com.kd.eventmanagement.backend.common.event;
+
+/**
+ * Published when an event is created, edited, changes status or is deleted, so in-memory
+ * views of events can drop what they hold once the change has committed.
+ */
+public record EventChangedEvent(Long eventId, String code, Change change) {
+
+    public enum Change {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+}
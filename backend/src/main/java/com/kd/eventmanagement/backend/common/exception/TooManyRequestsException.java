@@ -0,0 +1,18 @@
+package com.kd.eventmanagement.backend.common.exception;
+
+import com.kd.eventmanagement.backend.common.enums.ErrorCode;
+import lombok.Getter;
+
+/**
+ * Request shed by admission control; rendered as 429 with a Retry-After header
+ */
+@Getter
+public class TooManyRequestsException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(ErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
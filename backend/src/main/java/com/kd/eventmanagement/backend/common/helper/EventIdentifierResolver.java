@@ -0,0 +1,50 @@
+package com.kd.eventmanagement.backend.common.helper;
+
+import com.kd.eventmanagement.backend.common.util.CodeGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Resolves the event identifier accepted by the API, either an event code or a hashid, against
+ * whichever store the caller passes in (the repository, or the snapshot cache for read paths).
+ * <p>
+ * Values shaped like an event code go to the code lookup first; a hashid can happen to look like a
+ * code, so a code miss carries on exactly like any other value. Those go to the stored hash id index
+ * and, on a miss, to Hashids decoding plus the id lookup, which covers rows the startup backfill has
+ * not reached yet. Values that are not code-shaped never reach the code lookup, so an unknown
+ * identifier costs at most the hash id lookup and a decode.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventIdentifierResolver {
+
+    private final HashidsHelper hashidsHelper;
+
+    /**
+     * @return the event, or empty when the value is blank or matches nothing
+     */
+    public <T> Optional<T> resolve(String codeOrHash,
+                                   Function<String, Optional<T>> byCode,
+                                   Function<String, Optional<T>> byHashId,
+                                   Function<Long, Optional<T>> byId) {
+        if (codeOrHash == null || codeOrHash.isBlank()) {
+            return Optional.empty();
+        }
+
+        if (CodeGenerator.isEventCode(codeOrHash)) {
+            Optional<T> found = byCode.apply(codeOrHash);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        Optional<T> found = byHashId.apply(codeOrHash);
+        if (found.isPresent()) {
+            return found;
+        }
+        Long id = hashidsHelper.decodeLong(codeOrHash);
+        return id != null ? byId.apply(id) : Optional.empty();
+    }
+}
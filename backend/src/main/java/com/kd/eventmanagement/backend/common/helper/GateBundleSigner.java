@@ -0,0 +1,96 @@
+package com.kd.eventmanagement.backend.common.helper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.EdDSAParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Ed25519 key that signs offline gate bundles. Devices only ever hold the public key, so a lost or
+ * tampered device can check bundles but cannot produce one, and the QR signing secret never leaves
+ * the server.
+ * <p>
+ * Bundles are signed with Ed25519ph (RFC 8032, pre-hashed with SHA-512, empty context) rather than pure
+ * Ed25519: pure Ed25519 hashes the message twice, so the JDK buffers the whole bundle before signing,
+ * while Ed25519ph only keeps a running digest and a bundle streams in constant memory. Devices must
+ * verify with Ed25519ph as well; a pure Ed25519 verifier rejects these signatures.
+ * <p>
+ * Configure {@code app.checkin.bundle.signing-key} (PKCS#8) and {@code app.checkin.bundle.public-key}
+ * (X.509), both Base64, and give every instance the same pair. Without them a key pair is generated
+ * on startup, which only suits a single development instance: devices must re-fetch the key after
+ * every restart.
+ */
+@Slf4j
+@Component
+public class GateBundleSigner {
+
+    public static final String ALGORITHM = "Ed25519";
+    /** Signature scheme advertised to devices */
+    public static final String SCHEME = "Ed25519ph";
+    public static final int SIGNATURE_BYTES = 64;
+
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final int keyId;
+
+    public GateBundleSigner(@Value("${app.checkin.bundle.signing-key:}") String signingKey,
+                            @Value("${app.checkin.bundle.public-key:}") String publicKey) {
+        try {
+            if (signingKey.isBlank() || publicKey.isBlank()) {
+                log.warn("No gate bundle signing key configured; generated a temporary Ed25519 key pair");
+                KeyPair pair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+                this.privateKey = pair.getPrivate();
+                this.publicKey = pair.getPublic();
+            } else {
+                KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+                this.privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(signingKey.trim())));
+                this.publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey.trim())));
+            }
+            byte[] fingerprint = MessageDigest.getInstance("SHA-256").digest(this.publicKey.getEncoded());
+            this.keyId = ((fingerprint[0] & 0xFF) << 24) | ((fingerprint[1] & 0xFF) << 16)
+                    | ((fingerprint[2] & 0xFF) << 8) | (fingerprint[3] & 0xFF);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid gate bundle signing key", e);
+        }
+    }
+
+    /**
+     * First four bytes of the SHA-256 of the public key, written into every bundle header
+     */
+    public int keyId() {
+        return keyId;
+    }
+
+    /**
+     * Public key in X.509 encoding, Base64, for provisioning devices
+     */
+    public String publicKeyBase64() {
+        return Base64.getEncoder().encodeToString(publicKey.getEncoded());
+    }
+
+    /**
+     * A fresh Ed25519ph signature initialised with the private key, owned by the caller
+     */
+    public Signature newSignature() {
+        try {
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initSign(privateKey);
+            signature.setParameter(new EdDSAParameterSpec(true));
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialise gate bundle signature", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.kd.eventmanagement.backend.common.helper;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.kd.eventmanagement.backend.config.HashIdProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.hashids.Hashids;
@@ -16,9 +18,14 @@ import java.util.UUID;
 public class HashidsHelper {
 
     private final Hashids hashids;
+    // Ids are encoded on every mapped response; the mapping never changes, so keep the hot ones
+    private final Cache<Long, String> encodedIds;
 
     public HashidsHelper(HashIdProperties props) {
         this.hashids = new Hashids(props.getSalt(), props.getMinLength());
+        this.encodedIds = Caffeine.newBuilder()
+                .maximumSize(props.getEncodeCacheSize())
+                .build();
         log.info("HashidsHelper initialized with minLength: {}", props.getMinLength());
     }
 
@@ -30,8 +37,15 @@ public class HashidsHelper {
             return null;
         }
         
+        String cached = encodedIds.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            return hashids.encode(id);
+            String encoded = hashids.encode(id);
+            encodedIds.put(id, encoded);
+            return encoded;
         } catch (Exception e) {
             log.error("Failed to encode Long ID: {}", id, e);
             return null;
@@ -39,7 +53,7 @@ public class HashidsHelper {
     }
 
     /**
-     * Decode hashid string to Long ID
+     * Decode hashid string to Long ID, or null when it is not a valid hashid
      */
     public Long decodeLong(String hashid) {
         if (hashid == null || hashid.isEmpty()) {
@@ -50,7 +64,8 @@ public class HashidsHelper {
             long[] decoded = hashids.decode(hashid);
             return decoded.length > 0 ? decoded[0] : null;
         } catch (Exception e) {
-            log.error("Failed to decode hashid to Long: {}", hashid, e);
+            // Malformed ids come straight from request paths, so this is not worth more than debug
+            log.debug("Failed to decode hashid to Long: {} ({})", hashid, e.getMessage());
             return null;
         }
     }
@@ -105,7 +120,7 @@ public class HashidsHelper {
             
             return new UUID(mostSigBits, leastSigBits);
         } catch (Exception e) {
-            log.error("Failed to decode hashid: {}", hashid, e);
+            log.debug("Failed to decode hashid: {} ({})", hashid, e.getMessage());
             return null;
         }
     }
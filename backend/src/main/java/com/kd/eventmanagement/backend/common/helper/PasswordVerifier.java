@@ -0,0 +1,128 @@
+package com.kd.eventmanagement.backend.common.helper;
+
+import com.kd.eventmanagement.backend.common.enums.ErrorCode;
+import com.kd.eventmanagement.backend.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs bcrypt password checks on a small CPU-sized pool instead of the request thread.
+ * The queue in front of it is bounded: when a login storm fills it, further logins are rejected
+ * with 429 straight away, so hashing can never take more than its share of CPU from check-in traffic.
+ * A login that is not picked up by a worker within {@code max-wait-ms} is dropped from the queue and
+ * also gets 429; that limit covers the queue wait only, so a hash that has started is never cancelled.
+ * <p>
+ * Metrics: auth.password.queue.wait, auth.password.hash (timers), auth.password.rejected (counter),
+ * auth.password.queue.size (gauge).
+ */
+@Slf4j
+@Component
+public class PasswordVerifier {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final Timer queueWait;
+    private final Timer hashTime;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordVerifier(BCryptPasswordEncoder passwordEncoder,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.security.password-verifier.threads:0}") int threads,
+                            @Value("${app.security.password-verifier.queue-capacity:64}") int queueCapacity,
+                            @Value("${app.security.password-verifier.max-wait-ms:5000}") long maxWaitMillis,
+                            @Value("${app.security.password-verifier.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Time a login waited for a bcrypt worker")
+                .register(meterRegistry);
+        this.hashTime = Timer.builder("auth.password.hash")
+                .description("bcrypt verification time")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        log.info("Password verifier started with {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * @throws TooManyRequestsException when the pool is saturated or no worker picked the check up in time
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long submittedAt = System.nanoTime();
+        // Set by whichever side gets there first: the worker starting the hash or the caller giving up
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return false;
+                }
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
+                hashTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                return matches;
+            });
+        } catch (RejectedExecutionException e) {
+            throw reject("queue full");
+        }
+
+        try {
+            try {
+                return result.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    executor.remove((Runnable) result);
+                    throw reject("had no free worker for " + maxWaitMillis + " ms");
+                }
+                // Already hashing; a single bcrypt check is bounded, so wait for it
+                return result.get();
+            }
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private TooManyRequestsException reject(String reason) {
+        meterRegistry.counter("auth.password.rejected").increment();
+        log.warn("Shedding login, password verifier {}", reason);
+        return new TooManyRequestsException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS, retryAfterSeconds);
+    }
+}
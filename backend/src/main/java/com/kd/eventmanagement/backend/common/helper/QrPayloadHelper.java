@@ -0,0 +1,379 @@
+package com.kd.eventmanagement.backend.common.helper;
+
+import com.kd.eventmanagement.backend.common.enums.ErrorCode;
+import com.kd.eventmanagement.backend.common.exception.BusinessException;
+import com.kd.eventmanagement.backend.common.util.Base45;
+import com.kd.eventmanagement.backend.common.util.QrSigner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signs and verifies ticket QR payloads. Two formats are accepted:
+ * <ul>
+ *     <li>v1: "t=&lt;uuid&gt;&amp;e=&lt;code&gt;&amp;ts=&lt;epoch&gt;&amp;sig=&lt;hex&gt;"</li>
+ *     <li>v2: "EM2:" + Base45 of version(1) | ticket id(16) | event id(8) | epoch seconds(4) | HMAC-SHA256 tag(10)</li>
+ * </ul>
+ * v2 packs 39 bytes into 59 Base45 characters, 63 with the prefix, all from the QR alphanumeric set, which fits a much smaller QR version than the
+ * ~150 byte-mode characters of v1. {@code app.qr.format} selects what new tickets get; both always verify,
+ * so tickets issued before a switch keep working.
+ * <p>
+ * Verification parses the payload in one pass over its characters, feeds the signed bytes into a
+ * per-thread Mac through reusable buffers and compares signature bytes in constant time, so a genuine
+ * scan allocates little more than the resulting ticket reference.
+ */
+@Slf4j
+@Component
+public class QrPayloadHelper {
+
+    private static final int SIGNATURE_BYTES = 32;
+
+    static final String V2_PREFIX = "EM2:";
+    private static final byte V2_VERSION = 2;
+    private static final int V2_SIGNED_BYTES = 1 + 16 + 8 + 4;
+    // 80-bit tag: forging one still needs ~2^80 online guesses, each costing a gate scan
+    private static final int V2_TAG_BYTES = 10;
+    private static final int V2_BYTES = V2_SIGNED_BYTES + V2_TAG_BYTES;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final String secret;
+    private final boolean compact;
+
+    public QrPayloadHelper(@Value("${app.qr.secret:change-me}") String secret,
+                           @Value("${app.qr.format:v2}") String format) {
+        this.secret = secret;
+        this.compact = !"v1".equalsIgnoreCase(format);
+    }
+
+    /**
+     * Build the signed payload embedded in a ticket QR code, in the configured format
+     */
+    public String sign(UUID ticketId, Long eventId, String eventCode, OffsetDateTime issuedAt) {
+        return compact ? signV2(ticketId, eventId, issuedAt) : signV1(ticketId, eventCode, issuedAt);
+    }
+
+    String signV1(UUID ticketId, String eventCode, OffsetDateTime issuedAt) {
+        long ts = issuedAt.toEpochSecond();
+        String base = "t=" + ticketId + "&e=" + eventCode + "&ts=" + ts;
+        String sig = QrSigner.hmacSha256Hex(secret, base);
+        return base + "&sig=" + sig;
+    }
+
+    String signV2(UUID ticketId, Long eventId, OffsetDateTime issuedAt) {
+        byte[] data = new byte[V2_BYTES];
+        data[0] = V2_VERSION;
+        putLong(data, 1, ticketId.getMostSignificantBits());
+        putLong(data, 9, ticketId.getLeastSignificantBits());
+        putLong(data, 17, eventId);
+        putInt(data, 25, (int) issuedAt.toEpochSecond());
+
+        Mac mac = QrSigner.mac(secret);
+        mac.update(data, 0, V2_SIGNED_BYTES);
+        System.arraycopy(mac.doFinal(), 0, data, V2_SIGNED_BYTES, V2_TAG_BYTES);
+        return V2_PREFIX + Base45.encode(data);
+    }
+
+    /**
+     * Parse and verify a scanned payload
+     *
+     * @return the ticket reference, or null when a required parameter is missing
+     * @throws BusinessException INVALID_QR_CODE when the signature does not match
+     */
+    public QrTicketRef verify(String payload) {
+        int end = payload.length();
+        while (end > 0 && payload.charAt(end - 1) <= ' ') end--;
+        int start = 0;
+        while (start < end && payload.charAt(start) <= ' ') start++;
+
+        if (payload.startsWith(V2_PREFIX, start)) {
+            return verifyV2(payload, start + V2_PREFIX.length(), end);
+        }
+
+        int tFrom = -1, tTo = -1, eFrom = -1, eTo = -1, tsFrom = -1, tsTo = -1, sigFrom = -1, sigTo = -1;
+        int segment = start;
+        int eq = -1;
+
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? payload.charAt(i) : '&';
+            if (c == '%' || c == '+') {
+                return verifyDecoded(payload);
+            }
+            if (c == '?') {
+                // allow full URL like https://...?... too
+                tFrom = tTo = eFrom = eTo = tsFrom = tsTo = sigFrom = sigTo = -1;
+                segment = i + 1;
+                eq = -1;
+            } else if (c == '=' && eq < 0) {
+                eq = i;
+            } else if (c == '&') {
+                if (eq > segment) {
+                    int keyLength = eq - segment;
+                    if (keyLength == 1 && payload.charAt(segment) == 't') {
+                        tFrom = eq + 1;
+                        tTo = i;
+                    } else if (keyLength == 1 && payload.charAt(segment) == 'e') {
+                        eFrom = eq + 1;
+                        eTo = i;
+                    } else if (keyLength == 2 && payload.startsWith("ts", segment)) {
+                        tsFrom = eq + 1;
+                        tsTo = i;
+                    } else if (keyLength == 3 && payload.startsWith("sig", segment)) {
+                        sigFrom = eq + 1;
+                        sigTo = i;
+                    }
+                }
+                segment = i + 1;
+                eq = -1;
+            }
+        }
+
+        if (tFrom < 0 || eFrom < 0 || tsFrom < 0 || sigFrom < 0) {
+            log.error("Invalid QR payload: missing required parameters");
+            return null;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        int length = 0;
+        length = put(scratch, length, "t=", 0, 2);
+        length = put(scratch, length, payload, tFrom, tTo);
+        length = put(scratch, length, "&e=", 0, 3);
+        length = put(scratch, length, payload, eFrom, eTo);
+        length = put(scratch, length, "&ts=", 0, 4);
+        length = put(scratch, length, payload, tsFrom, tsTo);
+        if (length < 0) {
+            // Non-ASCII or oversized values never come from our signer; take the general path
+            return verifyDecoded(payload);
+        }
+
+        Mac mac = QrSigner.mac(secret);
+        mac.update(scratch.message, 0, length);
+        try {
+            mac.doFinal(scratch.expected, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException("Failed to verify QR payload", e);
+        }
+
+        if (!decodeHex(payload, sigFrom, sigTo, scratch.provided)
+                || !QrSigner.constantTimeEquals(scratch.expected, scratch.provided, SIGNATURE_BYTES)) {
+            log.warn("Invalid QR signature for ticket: {}", payload.substring(tFrom, tTo));
+            throw new BusinessException(ErrorCode.INVALID_QR_CODE, "Invalid signature (fake QR)");
+        }
+
+        return new QrTicketRef(
+                parseUuid(payload, tFrom, tTo),
+                payload.substring(eFrom, eTo),
+                null,
+                parseLong(payload, tsFrom, tsTo)
+        );
+    }
+
+    private QrTicketRef verifyV2(String payload, int from, int to) {
+        Scratch scratch = SCRATCH.get();
+        byte[] data = scratch.message;
+        if (Base45.decode(payload, from, to, data) != V2_BYTES || data[0] != V2_VERSION) {
+            log.error("Invalid QR payload: malformed v2 payload");
+            return null;
+        }
+
+        Mac mac = QrSigner.mac(secret);
+        mac.update(data, 0, V2_SIGNED_BYTES);
+        try {
+            mac.doFinal(scratch.expected, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException("Failed to verify QR payload", e);
+        }
+        System.arraycopy(data, V2_SIGNED_BYTES, scratch.provided, 0, V2_TAG_BYTES);
+
+        UUID ticketId = new UUID(getLong(data, 1), getLong(data, 9));
+        if (!QrSigner.constantTimeEquals(scratch.expected, scratch.provided, V2_TAG_BYTES)) {
+            log.warn("Invalid QR signature for ticket: {}", ticketId);
+            throw new BusinessException(ErrorCode.INVALID_QR_CODE, "Invalid signature (fake QR)");
+        }
+
+        return new QrTicketRef(ticketId, null, getLong(data, 17), getInt(data, 25) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * General path for percent-encoded or non-ASCII payloads: decode every parameter, then verify
+     */
+    private QrTicketRef verifyDecoded(String payload) {
+        String s = payload.trim();
+        int idx = s.indexOf('?');
+        if (idx >= 0) s = s.substring(idx + 1);
+
+        Map<String, String> q = new HashMap<>();
+        for (String part : s.split("&")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) continue;
+            String k = URLDecoder.decode(part.substring(0, eq), StandardCharsets.UTF_8);
+            String v = URLDecoder.decode(part.substring(eq + 1), StandardCharsets.UTF_8);
+            q.put(k, v);
+        }
+
+        String ticketId = q.get("t");
+        String eventCode = q.get("e");
+        String ts = q.get("ts");
+        String sig = q.get("sig");
+        if (ticketId == null || eventCode == null || ts == null || sig == null) {
+            log.error("Invalid QR payload: missing required parameters");
+            return null;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        Mac mac = QrSigner.mac(secret);
+        byte[] expected = mac.doFinal(("t=" + ticketId + "&e=" + eventCode + "&ts=" + ts).getBytes(StandardCharsets.UTF_8));
+        if (!decodeHex(sig, 0, sig.length(), scratch.provided)
+                || !QrSigner.constantTimeEquals(expected, scratch.provided, SIGNATURE_BYTES)) {
+            log.warn("Invalid QR signature for ticket: {}", ticketId);
+            throw new BusinessException(ErrorCode.INVALID_QR_CODE, "Invalid signature (fake QR)");
+        }
+
+        return new QrTicketRef(parseUuid(ticketId, 0, ticketId.length()), eventCode, null, parseLong(ts, 0, ts.length()));
+    }
+
+    /**
+     * Append ASCII chars to the scratch message buffer; returns -1 once anything does not fit
+     */
+    private static int put(Scratch scratch, int pos, String s, int from, int to) {
+        if (pos < 0 || pos + (to - from) > scratch.message.length) {
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c > 0x7F) {
+                return -1;
+            }
+            scratch.message[pos++] = (byte) c;
+        }
+        return pos;
+    }
+
+    private static boolean decodeHex(String s, int from, int to, byte[] out) {
+        if (to - from != SIGNATURE_BYTES * 2) {
+            return false;
+        }
+        for (int i = 0; i < SIGNATURE_BYTES; i++) {
+            int hi = hexDigit(s.charAt(from + 2 * i));
+            int lo = hexDigit(s.charAt(from + 2 * i + 1));
+            if (hi < 0 || lo < 0) {
+                return false;
+            }
+            out[i] = (byte) ((hi << 4) | lo);
+        }
+        return true;
+    }
+
+    /**
+     * Value of an ASCII hex digit in either case, as UUID.fromString and equalsIgnoreCase accepted;
+     * -1 for anything else, including the non-ASCII digits {@link Character#digit(char, int)} would accept
+     */
+    static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Parse a canonical 8-4-4-4-12 UUID straight from the payload chars; null when malformed
+     */
+    private static UUID parseUuid(String s, int from, int to) {
+        if (to - from != 36) {
+            return null;
+        }
+        long msb = 0;
+        long lsb = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            int offset = i - from;
+            if (offset == 8 || offset == 13 || offset == 18 || offset == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int d = hexDigit(c);
+            if (d < 0) {
+                return null;
+            }
+            if (digits < 16) {
+                msb = (msb << 4) | d;
+            } else {
+                lsb = (lsb << 4) | d;
+            }
+            digits++;
+        }
+        return new UUID(msb, lsb);
+    }
+
+    private static long parseLong(String s, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static void putLong(byte[] b, int off, long v) {
+        for (int i = 7; i >= 0; i--) {
+            b[off + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+
+    private static void putInt(byte[] b, int off, int v) {
+        for (int i = 3; i >= 0; i--) {
+            b[off + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] b, int off) {
+        long v = 0;
+        for (int i = 0; i < 8; i++) {
+            v = (v << 8) | (b[off + i] & 0xFF);
+        }
+        return v;
+    }
+
+    private static int getInt(byte[] b, int off) {
+        int v = 0;
+        for (int i = 0; i < 4; i++) {
+            v = (v << 8) | (b[off + i] & 0xFF);
+        }
+        return v;
+    }
+
+    /**
+     * Verified ticket reference carried by a QR code. v1 payloads carry the event code, v2 payloads the
+     * event id; the other field is null. ticketId is null when a v1 signed id is not a UUID.
+     */
+    public record QrTicketRef(UUID ticketId, String eventCode, Long eventId, long issuedAt) {}
+
+    private static final class Scratch {
+        private final byte[] message = new byte[256];
+        private final byte[] expected = new byte[SIGNATURE_BYTES];
+        private final byte[] provided = new byte[SIGNATURE_BYTES];
+    }
+}
@@ -0,0 +1,193 @@
+package com.kd.eventmanagement.backend.common.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.MDC;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Serialized JSON bodies (plus a gzip copy for larger ones) with an ETag, so hot read endpoints
+ * skip mapping and serialization and answer conditional requests with 304.
+ * <p>
+ * Bodies are cached either under a versioned key, whose ETag is the key itself, or against the
+ * identity of an already cached source object such as a listing page, whose ETag is a hash of the
+ * bytes. They are written with the application's {@link JsonMapper}, so {@code spring.jackson.*}
+ * applies exactly as it does to every other response.
+ * <p>
+ * The per-request {@code path} and {@code traceId} fields are left out of the cached bytes and
+ * appended when responding, which keeps the wrapper identical to what ResponseTraceIdAdvice
+ * produces. The gzip copy is left open after a sync flush so the same tail can be added as a final
+ * stored block. Since the trace id differs per response the ETag is weak.
+ */
+@Component
+public class SerializedResponseCache {
+
+    private static final int GZIP_MIN_BYTES = 1024;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final JsonMapper jsonMapper;
+    private final Cache<String, SerializedBody> byVersion;
+    private final Cache<Object, SerializedBody> bySource;
+
+    public SerializedResponseCache(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+        this.byVersion = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .build();
+        this.bySource = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(2_000)
+                .build();
+    }
+
+    /**
+     * Body for a representation identified by a version key, e.g. {@code event-<hashId>-v<version>}
+     */
+    public SerializedBody forVersion(String versionKey, Supplier<?> body) {
+        return byVersion.get(versionKey, key -> serialize(body.get(), key));
+    }
+
+    /**
+     * Body rendered from a cached source object; reused for as long as that same instance is served
+     */
+    public SerializedBody forSource(Object source, Supplier<?> body) {
+        return bySource.get(source, key -> serialize(body.get(), null));
+    }
+
+    /**
+     * 200 with the cached bytes followed by the trace id, gzip when the client accepts it, or null
+     * after Spring has answered 304 because If-None-Match matched
+     *
+     * @param path  request path written into the body, or null for wrappers without one
+     */
+    public ResponseEntity<byte[]> respond(SerializedBody body, String path, WebRequest request) {
+        String etag = "W/\"" + body.etag() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        String traceId = MDC.get("traceId");
+        if (traceId == null) {
+            traceId = UUID.randomUUID().toString();
+        }
+        StringBuilder tail = new StringBuilder(96);
+        if (path != null) {
+            tail.append(",\"path\":").append(jsonMapper.writeValueAsString(path));
+        }
+        tail.append(",\"traceId\":").append(jsonMapper.writeValueAsString(traceId)).append('}');
+        byte[] suffix = tail.toString().getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(finishGzip(body, suffix));
+        }
+        byte[] json = Arrays.copyOf(body.json(), body.json().length + suffix.length);
+        System.arraycopy(suffix, 0, json, body.json().length, suffix.length);
+        return response.body(json);
+    }
+
+    private SerializedBody serialize(Object body, String etag) {
+        ObjectNode tree = jsonMapper.valueToTree(body);
+        tree.remove("path");
+        tree.remove("traceId");
+        byte[] json = jsonMapper.writeValueAsBytes(tree);
+        // Drop the closing brace; respond() appends the per-request fields and closes the object
+        byte[] open = Arrays.copyOf(json, json.length - 1);
+        return new SerializedBody(open, open.length >= GZIP_MIN_BYTES ? openGzip(open) : null,
+                etag != null ? etag : hash(json));
+    }
+
+    /**
+     * Gzip header and a sync-flushed, unfinished deflate stream of the body
+     */
+    private static byte[] openGzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        out.writeBytes(GZIP_HEADER);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(json);
+            byte[] buffer = new byte[8192];
+            int written;
+            do {
+                written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, written);
+            } while (written == buffer.length);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Closes the cached deflate stream with the suffix as a final stored block (RFC 1951 3.2.4) and
+     * writes the gzip trailer. The suffix is a request path and a trace id, well under the 65535
+     * bytes a stored block holds.
+     */
+    private static byte[] finishGzip(SerializedBody body, byte[] suffix) {
+        CRC32 crc = new CRC32();
+        crc.update(body.json());
+        crc.update(suffix);
+        int size = body.json().length + suffix.length;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.gzip().length + suffix.length + 13);
+        out.writeBytes(body.gzip());
+        out.write(1);
+        out.write(suffix.length & 0xFF);
+        out.write(suffix.length >>> 8 & 0xFF);
+        out.write(~suffix.length & 0xFF);
+        out.write(~suffix.length >>> 8 & 0xFF);
+        out.writeBytes(suffix);
+        writeIntLe(out, (int) crc.getValue());
+        writeIntLe(out, size);
+        return out.toByteArray();
+    }
+
+    private static void writeIntLe(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xFF);
+        out.write(value >>> 8 & 0xFF);
+        out.write(value >>> 16 & 0xFF);
+        out.write(value >>> 24 & 0xFF);
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @param json  the body without its closing brace
+     * @param gzip  gzip header and unfinished deflate stream of {@code json}, or null when the body
+     *              is too small to bother
+     * @param etag  unquoted entity tag
+     */
+    public record SerializedBody(byte[] json, byte[] gzip, String etag) {
+    }
+}
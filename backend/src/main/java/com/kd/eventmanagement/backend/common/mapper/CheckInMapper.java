@@ -1,5 +1,6 @@
 package com.kd.eventmanagement.backend.common.mapper;
 
+import com.kd.eventmanagement.backend.dto.respone.BatchCheckInResponse;
 import com.kd.eventmanagement.backend.dto.respone.CheckInResponse;
 import com.kd.eventmanagement.backend.entity.Ticket;
 import org.springframework.stereotype.Component;
@@ -21,6 +22,16 @@ public class CheckInMapper {
         );
     }
     
+    public CheckInResponse toSuccessResponse(String attendeeName, String ticketNo, java.time.OffsetDateTime checkedInAt) {
+        return new CheckInResponse(
+                true,
+                "Checked-in successfully",
+                attendeeName,
+                ticketNo,
+                checkedInAt
+        );
+    }
+
     public CheckInResponse toErrorResponse(String message, String attendeeName, String ticketNo, java.time.OffsetDateTime checkedInAt) {
         return new CheckInResponse(
                 false,
@@ -30,4 +41,15 @@ public class CheckInMapper {
                 checkedInAt
         );
     }
+
+    public BatchCheckInResponse.Item toBatchItem(String clientScanId, CheckInResponse response) {
+        return new BatchCheckInResponse.Item(
+                clientScanId,
+                response.success(),
+                response.message(),
+                response.attendeeName(),
+                response.ticketNo(),
+                response.checkedInAt()
+        );
+    }
 }
@@ -1,5 +1,6 @@
 package com.kd.eventmanagement.backend.common.mapper;
 
+import com.kd.eventmanagement.backend.cache.EventSnapshot;
 import com.kd.eventmanagement.backend.dto.respone.EventResponse;
 import com.kd.eventmanagement.backend.entity.Event;
 import com.kd.eventmanagement.backend.common.helper.HashidsHelper;
@@ -17,11 +18,8 @@ public class EventMapper {
             return null;
         }
         
-        String hashId = null;
-        if (event.getId() != null) {
-            hashId = hashidsHelper.encode(event.getId());
-        }
-        
+        String hashId = hashId(event.getHashId(), event.getId());
+
         return new EventResponse(
                 hashId != null ? hashId : "",
                 event.getCode(),
@@ -30,7 +28,34 @@ public class EventMapper {
                 event.getLocation(),
                 event.getStartAt(),
                 event.getEndAt(),
-                event.getStatus().name()
+                event.getStatus().name(),
+                event.getVersion()
+        );
+    }
+
+    public EventResponse toResponse(EventSnapshot event) {
+        if (event == null) {
+            return null;
+        }
+
+        return new EventResponse(
+                hashId(event.hashId(), event.id()),
+                event.code(),
+                event.title(),
+                event.description(),
+                event.location(),
+                event.startAt(),
+                event.endAt(),
+                event.status().name(),
+                event.version()
         );
     }
+
+    // Stored hash id when present; encoding is only left for rows the startup backfill has not reached
+    private String hashId(String stored, Long id) {
+        if (stored != null) {
+            return stored;
+        }
+        return id != null ? hashidsHelper.encode(id) : null;
+    }
 }
@@ -11,11 +11,18 @@ public class TicketMapper {
         if (ticket == null) {
             return null;
         }
-        
+
+        return toIssuedResponse(ticket, ticket.getEvent().getCode(), qrPayload);
+    }
+
+    /**
+     * For callers that already know the event code, so an uninitialized event proxy stays unloaded
+     */
+    public TicketIssuedResponse toIssuedResponse(Ticket ticket, String eventCode, String qrPayload) {
         return new TicketIssuedResponse(
                 ticket.getId(),
                 ticket.getTicketNo(),
-                ticket.getEvent().getCode(),
+                eventCode,
                 qrPayload,
                 ticket.getIssuedAt()
         );
@@ -0,0 +1,85 @@
+package com.kd.eventmanagement.backend.common.util;
+
+/**
+ * Base45 (RFC 9285). Its alphabet is exactly the QR alphanumeric character set, so Base45 text
+ * is stored at 5.5 bits per character instead of 8 bits per character in QR byte mode.
+ */
+public final class Base45 {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        java.util.Arrays.fill(DECODE, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = i;
+        }
+    }
+
+    private Base45() {
+    }
+
+    public static String encode(byte[] data) {
+        StringBuilder sb = new StringBuilder((data.length / 2) * 3 + (data.length % 2) * 2);
+        int i = 0;
+        for (; i + 1 < data.length; i += 2) {
+            int n = ((data[i] & 0xFF) << 8) | (data[i + 1] & 0xFF);
+            sb.append(ALPHABET[n % 45]).append(ALPHABET[(n / 45) % 45]).append(ALPHABET[n / 2025]);
+        }
+        if (i < data.length) {
+            int n = data[i] & 0xFF;
+            sb.append(ALPHABET[n % 45]).append(ALPHABET[n / 45]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decode s[from, to) into out
+     *
+     * @return number of bytes written, or -1 if the input is not valid Base45 or does not fit
+     */
+    public static int decode(CharSequence s, int from, int to, byte[] out) {
+        int length = to - from;
+        if (length % 3 == 1) {
+            return -1;
+        }
+        int size = (length / 3) * 2 + (length % 3 == 2 ? 1 : 0);
+        if (size > out.length) {
+            return -1;
+        }
+
+        int pos = 0;
+        int i = from;
+        for (; i + 2 < to; i += 3) {
+            int c = digit(s.charAt(i));
+            int d = digit(s.charAt(i + 1));
+            int e = digit(s.charAt(i + 2));
+            if (c < 0 || d < 0 || e < 0) {
+                return -1;
+            }
+            int n = c + d * 45 + e * 2025;
+            if (n > 0xFFFF) {
+                return -1;
+            }
+            out[pos++] = (byte) (n >> 8);
+            out[pos++] = (byte) n;
+        }
+        if (i < to) {
+            int c = digit(s.charAt(i));
+            int d = digit(s.charAt(i + 1));
+            if (c < 0 || d < 0) {
+                return -1;
+            }
+            int n = c + d * 45;
+            if (n > 0xFF) {
+                return -1;
+            }
+            out[pos++] = (byte) n;
+        }
+        return pos;
+    }
+
+    private static int digit(char c) {
+        return c < 128 ? DECODE[c] : -1;
+    }
+}
@@ -3,11 +3,23 @@ package com.kd.eventmanagement.backend.common.util;
 import java.security.SecureRandom;
 
 public class CodeGenerator {
+    public static final String EVENT_CODE_PREFIX = "EVT";
+    private static final int EVENT_CODE_LENGTH = EVENT_CODE_PREFIX.length() + 7;
+
     private static final String ALPHANUM = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
     private static final SecureRandom RND = new SecureRandom();
 
     public static String eventCode() {
-        return "EVT" + random(7);
+        return EVENT_CODE_PREFIX + random(EVENT_CODE_LENGTH - EVENT_CODE_PREFIX.length());
+    }
+
+    /**
+     * Whether the value has the shape of an event code. Cheap enough to run before any hashid decoding
+     */
+    public static boolean isEventCode(String value) {
+        return value != null
+                && value.length() == EVENT_CODE_LENGTH
+                && value.startsWith(EVENT_CODE_PREFIX);
     }
 
     public static String ticketNo(long seq) {
@@ -0,0 +1,48 @@
+package com.kd.eventmanagement.backend.common.util;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for the event listing: the (createdAt, id) of the last row on a page,
+ * packed as epoch seconds, nanos and id and written as unpadded base64url.
+ */
+public record EventCursor(OffsetDateTime createdAt, Long id) {
+
+    private static final int LENGTH = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public String encode() {
+        Instant instant = createdAt.toInstant();
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+                .putLong(instant.getEpochSecond())
+                .putInt(instant.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @return the cursor, or null when the value was not produced by {@link #encode()}
+     */
+    public static EventCursor decode(String value) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length != LENGTH) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        long id = buffer.getLong();
+        if (nanos < 0 || nanos > 999_999_999) {
+            return null;
+        }
+        return new EventCursor(OffsetDateTime.ofInstant(Instant.ofEpochSecond(seconds, nanos), ZoneOffset.UTC), id);
+    }
+}
@@ -1,32 +1,77 @@
 package com.kd.eventmanagement.backend.common.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.kd.eventmanagement.backend.entity.Role;
 import com.kd.eventmanagement.backend.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Issues and verifies JWTs. The signing key and the (thread-safe) parser are built once; verified tokens
+ * are remembered by SHA-256 digest until they expire, so a scanner sending the same token on every
+ * request pays for signature verification and JSON parsing only on its first request.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretBase64;
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
 
-    @Value("${jwt.expiration:86400000}")
-    private long expiration;
+    private final long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    // Keyed by digest rather than by token so the cache never holds usable bearer tokens
+    private final Cache<String, Claims> verified;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secretBase64);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(@Value("${jwt.secret}") String secretBase64,
+                   @Value("${jwt.expiration:86400000}") long expiration,
+                   @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretBase64));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(User user) {
@@ -42,27 +87,61 @@ public class JwtUtil {
                 .subject(user.getUsername())
                 .issuedAt(new Date(now))
                 .expiration(new Date(now + expiration))
-                .signWith(getSigningKey()) // auto HS256 based on key type
+                .signWith(signingKey) // auto HS256 based on key type
                 .compact();
     }
 
+    /**
+     * Verify signature and expiry and return the claims; served from the verified-token cache when possible
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is invalid or expired
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        Claims claims = verified.getIfPresent(digest);
+        if (claims == null) {
+            claims = parser.parseSignedClaims(token).getPayload();
+            verified.put(digest, claims);
+        } else if (isExpired(claims)) {
+            // Expiry eviction is lazy; never hand out claims past their exp
+            verified.invalidate(digest);
+            throw new ExpiredJwtException(null, claims, "JWT expired");
+        }
+        return claims;
+    }
+
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verify(token);
     }
 
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return verify(token).getSubject();
     }
 
     public boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+        return isExpired(verify(token));
     }
 
     public boolean validateToken(String token, String username) {
-        return extractUsername(token).equals(username) && !isTokenExpired(token);
+        Claims claims = verify(token);
+        return claims.getSubject().equals(username) && !isExpired(claims);
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date exp = claims.getExpiration();
+        return exp != null && exp.getTime() <= System.currentTimeMillis();
+    }
+
+    private static long remainingNanos(Claims claims) {
+        Date exp = claims.getExpiration();
+        if (exp == null) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, exp.getTime() - System.currentTimeMillis()));
+    }
+
+    private static String digest(String token) {
+        MessageDigest sha256 = SHA256.get();
+        return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
     }
 }
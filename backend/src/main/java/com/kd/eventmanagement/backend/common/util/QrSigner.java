@@ -3,18 +3,54 @@ package com.kd.eventmanagement.backend.common.util;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HashMap;
 import java.util.HexFormat;
+import java.util.Map;
 
 public class QrSigner {
 
+    private static final String ALGORITHM = "HmacSHA256";
+
+    // Mac is not thread-safe and expensive to create; keep one initialised instance per thread and secret
+    private static final ThreadLocal<Map<String, Mac>> MACS = ThreadLocal.withInitial(HashMap::new);
+
     public static String hmacSha256Hex(String secret, String message) {
+        Mac mac = mac(secret);
+        byte[] out = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(out);
+    }
+
+    /**
+     * Initialised HmacSHA256 for the calling thread. doFinal resets it, so callers can reuse it freely.
+     */
+    public static Mac mac(String secret) {
+        Mac mac = MACS.get().computeIfAbsent(secret, QrSigner::newMac);
+        mac.reset();
+        return mac;
+    }
+
+    /**
+     * A fresh HmacSHA256 owned by the caller, for long-running signing that must not share the per-thread instance
+     */
+    public static Mac newMac(String secret) {
         try {
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
-            byte[] out = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(out);
-        } catch (Exception e) {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
             throw new IllegalStateException("Failed to sign QR payload", e);
         }
     }
+
+    /**
+     * Compare two MACs without short-circuiting, so timing does not leak how many bytes matched
+     */
+    public static boolean constantTimeEquals(byte[] a, byte[] b, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
 }
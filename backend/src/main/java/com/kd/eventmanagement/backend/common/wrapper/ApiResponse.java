@@ -17,4 +17,12 @@ public class ApiResponse<T> {
     private T data;
     private String message;
     private String path;
+
+    public static <T> ApiResponse<T> success(T data) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .data(data)
+                .message("Success")
+                .build();
+    }
 }
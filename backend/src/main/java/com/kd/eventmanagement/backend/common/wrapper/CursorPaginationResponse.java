@@ -0,0 +1,47 @@
+package com.kd.eventmanagement.backend.common.wrapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"success", "message", "data", "pagination", "timestamp", "traceId"})
+public class CursorPaginationResponse<T> {
+    private boolean success;
+    private String message;
+    private List<T> data;
+    private CursorMetadata pagination;
+    private OffsetDateTime timestamp;
+    private String traceId;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CursorMetadata {
+        private int pageSize;
+        private String nextCursor;
+        private boolean hasNext;
+        private Long totalItems;
+    }
+
+    public static <T> CursorPaginationResponse<T> success(List<T> data, CursorMetadata pagination, String message) {
+        return CursorPaginationResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .pagination(pagination)
+                .timestamp(OffsetDateTime.now())
+                .build();
+    }
+}
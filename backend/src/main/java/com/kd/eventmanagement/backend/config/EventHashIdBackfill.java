@@ -0,0 +1,62 @@
+package com.kd.eventmanagement.backend.config;
+
+import com.kd.eventmanagement.backend.common.helper.HashidsHelper;
+import com.kd.eventmanagement.backend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills events.hash_id for rows created before the column existed, one batch per transaction.
+ * Until a row is reached, responses encode its hash id on the fly and lookups fall back to decoding,
+ * so the application serves traffic while this runs. Rows that already have one are skipped, so
+ * it is a no-op on every start after the first.
+ */
+@Slf4j
+@Component
+public class EventHashIdBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+    private final HashidsHelper hashidsHelper;
+    private final TransactionTemplate transactionTemplate;
+
+    public EventHashIdBackfill(EventRepository eventRepository,
+                               HashidsHelper hashidsHelper,
+                               PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.hashidsHelper = hashidsHelper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long after = 0L;
+        int filled = 0;
+        while (true) {
+            List<Long> ids = eventRepository.findIdsWithoutHashId(after, PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer updated = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (Long id : ids) {
+                    count += eventRepository.assignHashId(id, hashidsHelper.encode(id));
+                }
+                return count;
+            });
+            filled += updated != null ? updated : 0;
+            after = ids.get(ids.size() - 1);
+        }
+        if (filled > 0) {
+            log.info("Backfilled hash ids for {} events", filled);
+        }
+    }
+}
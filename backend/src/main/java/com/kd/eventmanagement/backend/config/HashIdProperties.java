@@ -9,6 +9,7 @@ public class HashIdProperties {
 
     private String salt;
     private int minLength = 6;
+    private long encodeCacheSize = 10_000;
 
     public String getSalt() {
         return salt;
@@ -25,4 +26,12 @@ public class HashIdProperties {
     public void setMinLength(int minLength) {
         this.minLength = minLength;
     }
+
+    public long getEncodeCacheSize() {
+        return encodeCacheSize;
+    }
+
+    public void setEncodeCacheSize(long encodeCacheSize) {
+        this.encodeCacheSize = encodeCacheSize;
+    }
 }
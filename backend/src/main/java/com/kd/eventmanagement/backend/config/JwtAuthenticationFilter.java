@@ -1,28 +1,36 @@
 package com.kd.eventmanagement.backend.config;
 
-import com.kd.eventmanagement.backend.entity.Role;
-import com.kd.eventmanagement.backend.entity.User;
-import com.kd.eventmanagement.backend.repository.UserRepository;
+import com.kd.eventmanagement.backend.cache.PrincipalCache;
 import com.kd.eventmanagement.backend.common.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    // When true, roles come from the signed token and the user table is never consulted;
+    // disabling a user or changing roles then only takes effect once their token expires
+    private final boolean trustJwtRoles;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   PrincipalCache principalCache,
+                                   @Value("${app.security.trust-jwt-roles:false}") boolean trustJwtRoles) {
+        this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.trustJwtRoles = trustJwtRoles;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -33,18 +41,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                String username = jwtUtil.extractUsername(token);
+                // Parsing verifies the signature and rejects expired tokens
+                Claims claims = jwtUtil.verify(token);
+                String username = claims.getSubject();
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    User user = userRepository.findByUsername(username).orElse(null);
-                    
-                    if (user != null && jwtUtil.validateToken(token, username)) {
-                        List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
-                                .map(Role::getName)
-                                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                                .collect(Collectors.toList());
-                        
+                    List<GrantedAuthority> authorities = resolveAuthorities(username, claims);
+
+                    if (authorities != null) {
+                        // The username itself is the principal, so Authentication.getName() is the username
                         UsernamePasswordAuthenticationToken authToken = 
-                                new UsernamePasswordAuthenticationToken(user, null, authorities);
+                                new UsernamePasswordAuthenticationToken(username, null, authorities);
                         
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -57,4 +63,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * @return authorities for the request, or null when the user must not be authenticated
+     */
+    private List<GrantedAuthority> resolveAuthorities(String username, Claims claims) {
+        if (trustJwtRoles) {
+            List<?> roles = claims.get("roles", List.class);
+            return roles != null
+                    ? PrincipalCache.toAuthorities(roles.stream().map(String::valueOf).toList())
+                    : List.of();
+        }
+        PrincipalCache.CachedPrincipal principal = principalCache.get(username);
+        return principal != null && principal.enabled() ? principal.authorities() : null;
+    }
 }
@@ -1,6 +1,7 @@
 package com.kd.eventmanagement.backend.config;
 
 import com.kd.eventmanagement.backend.common.wrapper.ApiResponse;
+import com.kd.eventmanagement.backend.common.wrapper.CursorPaginationResponse;
 import com.kd.eventmanagement.backend.common.wrapper.ItemResponse;
 import com.kd.eventmanagement.backend.common.wrapper.PaginationResponse;
 import org.slf4j.MDC;
@@ -26,12 +27,18 @@ public class ResponseTraceIdAdvice implements ResponseBodyAdvice<Object> {
                                    Class<? extends HttpMessageConverter<?>> selectedConverterType,
                                    ServerHttpRequest request, ServerHttpResponse response) {
 
+        // Pre-serialized bodies (SerializedResponseCache) are written as they are
+        if (body instanceof byte[]) {
+            return body;
+        }
+
         // Skip wrapping if already wrapped or is an error response
         if (body == null || 
             body.getClass().getName().contains("ErrorResponse") || 
             body instanceof ApiResponse ||
             body instanceof ItemResponse ||
-            body instanceof PaginationResponse) {
+            body instanceof PaginationResponse ||
+            body instanceof CursorPaginationResponse) {
             
             // Add traceId to wrapper responses if they don't have one
             String traceId = MDC.get("traceId");
@@ -47,6 +54,10 @@ public class ResponseTraceIdAdvice implements ResponseBodyAdvice<Object> {
                 if (paginationResponse.getTraceId() == null) {
                     paginationResponse.setTraceId(traceId);
                 }
+            } else if (body instanceof CursorPaginationResponse<?> cursorResponse) {
+                if (cursorResponse.getTraceId() == null) {
+                    cursorResponse.setTraceId(traceId);
+                }
             } else if (body instanceof ApiResponse apiResponse) {
                 if (apiResponse.getTraceId() == null) {
                     apiResponse.setTraceId(traceId);
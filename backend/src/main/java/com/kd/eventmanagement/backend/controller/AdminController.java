@@ -1,12 +1,16 @@
 package com.kd.eventmanagement.backend.controller;
 
+import com.kd.eventmanagement.backend.dto.request.CreateBroadcastRequest;
 import com.kd.eventmanagement.backend.dto.request.CreateEventRequest;
 import com.kd.eventmanagement.backend.dto.request.UpdateEventStatusRequest;
+import com.kd.eventmanagement.backend.dto.respone.BroadcastFailureResponse;
+import com.kd.eventmanagement.backend.dto.respone.BroadcastResponse;
 import com.kd.eventmanagement.backend.dto.respone.EventResponse;
 import com.kd.eventmanagement.backend.dto.respone.EventStatsResponse;
 import com.kd.eventmanagement.backend.common.wrapper.ItemResponse;
 import com.kd.eventmanagement.backend.common.wrapper.PaginationResponse;
 import com.kd.eventmanagement.backend.service.AdminService;
+import com.kd.eventmanagement.backend.service.BroadcastService;
 import com.kd.eventmanagement.backend.service.EventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,9 +21,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -33,6 +42,7 @@ import java.util.List;
 public class AdminController {
     private final AdminService adminService;
     private final EventService eventService;
+    private final BroadcastService broadcastService;
 
     @GetMapping("/events")
     @Operation(summary = "Get all events", description = "Retrieve all events (Admin only)")
@@ -88,26 +98,7 @@ public class AdminController {
     })
     public ResponseEntity<ItemResponse<EventStatsResponse>> getEventStats(
             @Parameter(description = "Event hash ID", required = true) @PathVariable String hashId) {
-        long attendeeCount = adminService.getAttendeeCount(hashId);
-        long checkedInCount = adminService.getCheckedInCount(hashId);
-        double percentage = attendeeCount > 0 ? (checkedInCount * 100.0 / attendeeCount) : 0.0;
-
-        // Get event details for response
-        List<EventResponse> events = adminService.getAllEvents();
-        EventResponse event = events.stream()
-                .filter(e -> e.getHashId().equals(hashId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Event not found"));
-
-        EventStatsResponse stats = new EventStatsResponse(
-                hashId,
-                event.getCode(),
-                event.getTitle(),
-                attendeeCount,
-                checkedInCount,
-                percentage
-        );
-
+        EventStatsResponse stats = adminService.getEventStats(hashId);
         ItemResponse<EventStatsResponse> response = ItemResponse.success(stats, "Event statistics retrieved successfully");
         return ResponseEntity.ok(response);
     }
@@ -129,5 +120,89 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/events/{hashId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream event activity",
+            description = "Server-Sent Events: \"checkin\" per successful check-in and \"stats\" when counters change (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "404", description = "Event not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public SseEmitter streamEvent(
+            @Parameter(description = "Event hash ID", required = true) @PathVariable String hashId) {
+        return adminService.subscribeEventStream(hashId);
+    }
+
+    @PostMapping("/events/{hashId}/broadcasts")
+    @Operation(summary = "Broadcast to attendees",
+            description = "Send a Telegram message to every attendee of an event, paced by the Bot API rate limit (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Broadcast started"),
+            @ApiResponse(responseCode = "404", description = "Event not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ItemResponse<BroadcastResponse>> createBroadcast(
+            @Parameter(description = "Event hash ID", required = true) @PathVariable String hashId,
+            @Valid @RequestBody CreateBroadcastRequest request,
+            Authentication authentication) {
+        String adminUser = authentication != null ? authentication.getName() : "system";
+        BroadcastResponse broadcast = broadcastService.createBroadcast(hashId, request.message(), adminUser);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ItemResponse.success(broadcast, "Broadcast started"));
+    }
+
+    @GetMapping("/broadcasts/{hashId}")
+    @Operation(summary = "Get broadcast progress", description = "Sent and failed counts of a broadcast (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Broadcast retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Broadcast not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ItemResponse<BroadcastResponse>> getBroadcast(
+            @Parameter(description = "Broadcast hash ID", required = true) @PathVariable String hashId) {
+        BroadcastResponse broadcast = broadcastService.getBroadcast(hashId);
+        return ResponseEntity.ok(ItemResponse.success(broadcast, "Broadcast retrieved successfully"));
+    }
 
+    @PostMapping("/broadcasts/{hashId}/cancel")
+    @Operation(summary = "Cancel broadcast", description = "Stop a running broadcast after the page in progress (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Broadcast cancelled"),
+            @ApiResponse(responseCode = "400", description = "Broadcast is no longer running"),
+            @ApiResponse(responseCode = "404", description = "Broadcast not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ItemResponse<BroadcastResponse>> cancelBroadcast(
+            @Parameter(description = "Broadcast hash ID", required = true) @PathVariable String hashId) {
+        BroadcastResponse broadcast = broadcastService.cancelBroadcast(hashId);
+        return ResponseEntity.ok(ItemResponse.success(broadcast, "Broadcast cancelled"));
+    }
+
+    @GetMapping("/broadcasts/{hashId}/failures")
+    @Operation(summary = "List broadcast failures", description = "Recipients the broadcast could not reach (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Failures retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Broadcast not found"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<PaginationResponse<BroadcastFailureResponse>> getBroadcastFailures(
+            @Parameter(description = "Broadcast hash ID", required = true) @PathVariable String hashId,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size) {
+        Page<BroadcastFailureResponse> failurePage = broadcastService.getFailures(hashId, page, size);
+
+        PaginationResponse.PaginationMetadata pagination = PaginationResponse.PaginationMetadata.builder()
+                .currentPage(failurePage.getNumber() + 1)
+                .pageSize(failurePage.getSize())
+                .totalItems(failurePage.getTotalElements())
+                .totalPages(failurePage.getTotalPages())
+                .hasNext(failurePage.hasNext())
+                .hasPrevious(failurePage.hasPrevious())
+                .build();
+
+        return ResponseEntity.ok(PaginationResponse.success(
+                failurePage.getContent(),
+                pagination,
+                "Broadcast failures retrieved successfully"
+        ));
+    }
 }
@@ -1,8 +1,12 @@
 package com.kd.eventmanagement.backend.controller;
 
+import com.kd.eventmanagement.backend.dto.request.BatchCheckInRequest;
 import com.kd.eventmanagement.backend.dto.request.CheckInRequest;
+import com.kd.eventmanagement.backend.dto.respone.BatchCheckInResponse;
 import com.kd.eventmanagement.backend.dto.respone.CheckInResponse;
+import com.kd.eventmanagement.backend.dto.respone.GateBundleKeyResponse;
 import com.kd.eventmanagement.backend.service.CheckInService;
+import com.kd.eventmanagement.backend.service.GateBundleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,9 +17,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -26,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
 public class CheckInController {
 
     private final CheckInService checkInService;
+    private final GateBundleService gateBundleService;
 
     @PostMapping
     @Operation(summary = "Check-in attendee", description = "Check-in an attendee by scanning QR code")
@@ -41,4 +50,75 @@ public class CheckInController {
         CheckInResponse response = checkInService.checkIn(request.qrPayload(), staffUser);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Sync offline check-ins",
+            description = "Replay up to 5000 scans queued by an offline gate; the earliest scan of each ticket wins")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-scan results in request order",
+                    content = @Content(schema = @Schema(implementation = BatchCheckInResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<BatchCheckInResponse> checkInBatch(@Valid @RequestBody BatchCheckInRequest request,
+                                                             Authentication authentication) {
+        String staffUser = authentication != null ? authentication.getName() : "system";
+        BatchCheckInResponse response = checkInService.checkInBatch(request.scans(), staffUser);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/bundle/key")
+    @Operation(summary = "Get gate bundle public key",
+            description = "Ed25519 public key that verifies offline gate bundles (Ed25519ph signatures)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Public key",
+                    content = @Content(schema = @Schema(implementation = GateBundleKeyResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<GateBundleKeyResponse> getBundleKey() {
+        return ResponseEntity.ok(gateBundleService.signingKey());
+    }
+
+    @GetMapping("/bundle/{eventCode}")
+    @Operation(summary = "Download offline gate bundle",
+            description = "Signed binary snapshot of every ticket of the event for offline QR validation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bundle streamed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    public ResponseEntity<StreamingResponseBody> getBundle(@PathVariable String eventCode) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(gateBundleService.fullBundle(eventCode));
+    }
+
+    @GetMapping("/bundle/{eventCode}/delta")
+    @Operation(summary = "Download offline gate bundle changes",
+            description = "Tickets changed since the cursor returned by a previous bundle")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Delta bundle streamed"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    public ResponseEntity<StreamingResponseBody> getBundleDelta(@PathVariable String eventCode,
+                                                                @RequestParam long since) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(gateBundleService.deltaBundle(eventCode, since));
+    }
+
+    @GetMapping(value = "/stream/{eventCode}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream gate activity",
+            description = "Server-Sent Events: \"checkin\" per successful check-in at any gate and \"stats\" when counters change")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Event not found")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+    public SseEmitter streamCheckIns(@PathVariable String eventCode) {
+        return checkInService.subscribe(eventCode);
+    }
 }
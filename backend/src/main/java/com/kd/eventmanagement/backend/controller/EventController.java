@@ -1,6 +1,10 @@
 package com.kd.eventmanagement.backend.controller;
+import com.kd.eventmanagement.backend.common.helper.SerializedResponseCache;
+import com.kd.eventmanagement.backend.common.wrapper.CursorPaginationResponse;
+import com.kd.eventmanagement.backend.common.wrapper.ItemResponse;
 import com.kd.eventmanagement.backend.common.wrapper.PaginationResponse;
 import com.kd.eventmanagement.backend.dto.request.CreateEventRequest;
+import com.kd.eventmanagement.backend.dto.respone.CursorPage;
 import com.kd.eventmanagement.backend.dto.respone.EventResponse;
 import com.kd.eventmanagement.backend.entity.Event;
 import com.kd.eventmanagement.backend.service.EventService;
@@ -20,6 +24,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+import static com.kd.eventmanagement.backend.common.wrapper.ApiResponse.success;
 
 @Slf4j
 @RestController
@@ -28,36 +38,90 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Events", description = "Event management APIs")
 public class EventController {
     private final EventService eventService;
+    private final SerializedResponseCache serializedResponseCache;
+
     @GetMapping
-    @Operation(summary = "Get all events", description = "Retrieve events with pagination and filtering")
+    @Operation(summary = "Get all events",
+            description = "Retrieve events with pagination and filtering. Supports If-None-Match; unchanged pages return 304")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Events retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Events retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = PaginationResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag")
     })
-    public ResponseEntity<PaginationResponse<EventResponse>> getAllEvents(
+    public ResponseEntity<byte[]> getAllEvents(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Search by title") @RequestParam(required = false) String title,
-            @Parameter(description = "Filter by status") @RequestParam(required = false) Event.EventStatus status) {
+            @Parameter(description = "Filter by status") @RequestParam(required = false) Event.EventStatus status,
+            WebRequest request) {
         
         Page<EventResponse> eventPage = eventService.getAllEvents(page, size, title, status);
-        
-        PaginationResponse.PaginationMetadata pagination = PaginationResponse.PaginationMetadata.builder()
-                .currentPage(eventPage.getNumber() + 1)
-                .pageSize(eventPage.getSize())
-                .totalItems(eventPage.getTotalElements())
-                .totalPages(eventPage.getTotalPages())
-                .hasNext(eventPage.hasNext())
-                .hasPrevious(eventPage.hasPrevious())
+
+        // The page instance is shared until the listing cache reloads it, and so are its bytes
+        SerializedResponseCache.SerializedBody body = serializedResponseCache.forSource(eventPage, () -> {
+            PaginationResponse.PaginationMetadata pagination = PaginationResponse.PaginationMetadata.builder()
+                    .currentPage(eventPage.getNumber() + 1)
+                    .pageSize(eventPage.getSize())
+                    .totalItems(eventPage.getTotalElements())
+                    .totalPages(eventPage.getTotalPages())
+                    .hasNext(eventPage.hasNext())
+                    .hasPrevious(eventPage.hasPrevious())
+                    .build();
+
+            return PaginationResponse.success(
+                    eventPage.getContent(),
+                    pagination,
+                    "Events retrieved successfully"
+            );
+        });
+        return serializedResponseCache.respond(body, null, request);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get events by cursor",
+            description = "Keyset pagination, newest first. Pass nextCursor from the previous page to continue; the total is only counted when includeTotal=true")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Events retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<CursorPaginationResponse<EventResponse>> getEventsByCursor(
+            @Parameter(description = "Cursor from the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Search by title") @RequestParam(required = false) String title,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) Event.EventStatus status,
+            @Parameter(description = "Also count all matching events") @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<EventResponse> page = eventService.getEventsAfter(cursor, size, title, status, includeTotal);
+
+        CursorPaginationResponse.CursorMetadata pagination = CursorPaginationResponse.CursorMetadata.builder()
+                .pageSize(page.items().size())
+                .nextCursor(page.nextCursor())
+                .hasNext(page.nextCursor() != null)
+                .totalItems(page.totalItems())
                 .build();
 
-        PaginationResponse<EventResponse> response = PaginationResponse.success(
-                eventPage.getContent(),
+        CursorPaginationResponse<EventResponse> response = CursorPaginationResponse.success(
+                page.items(),
                 pagination,
                 "Events retrieved successfully"
         );
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search events",
+            description = "Ranked search over title, location and description; words of 3+ characters match anywhere, shorter ones as word prefixes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed")
+    })
+    public ResponseEntity<ItemResponse<List<EventResponse>>> searchEvents(
+            @Parameter(description = "Search text", required = true) @RequestParam String q,
+            @Parameter(description = "Filter by status") @RequestParam(required = false) Event.EventStatus status,
+            @Parameter(description = "Maximum results (max 50)") @RequestParam(defaultValue = "20") int limit) {
+        List<EventResponse> events = eventService.searchEvents(q, status, limit);
+        return ResponseEntity.ok(ItemResponse.success(events, "Found " + events.size() + " events"));
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
     @SecurityRequirement(name = "bearer-jwt")
@@ -74,16 +138,22 @@ public class EventController {
     }
 
     @GetMapping("/{code}")
-    @Operation(summary = "Get event by code", description = "Retrieve event details by event code")
+    @Operation(summary = "Get event by code",
+            description = "Retrieve event details by event code. The ETag follows the event version; If-None-Match returns 304 while it is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Event found",
                     content = @Content(schema = @Schema(implementation = EventResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Event unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Event not found")
     })
-    public ResponseEntity<EventResponse> getEventByCode(
-            @Parameter(description = "Event code", required = true) @PathVariable String code) {
-        EventResponse response = eventService.getByCode(code);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getEventByCode(
+            @Parameter(description = "Event code", required = true) @PathVariable String code,
+            WebRequest request) {
+        EventResponse event = eventService.getByCode(code);
+        SerializedResponseCache.SerializedBody body = serializedResponseCache.forVersion(
+                "event-" + event.getHashId() + "-v" + event.getVersion(),
+                () -> success(event));
+        return serializedResponseCache.respond(body, ServletUriComponentsBuilder.fromCurrentRequestUri().build().getPath(), request);
     }
 
 
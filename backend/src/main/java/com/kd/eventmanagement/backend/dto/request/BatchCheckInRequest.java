@@ -0,0 +1,18 @@
+package com.kd.eventmanagement.backend.dto.request;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record BatchCheckInRequest(
+        @NotEmpty @Size(max = 5000) List<@Valid @NotNull Scan> scans
+) {
+    public record Scan(
+            String clientScanId, // Echoed back so the scanner can match results to its local queue
+            @NotBlank String qrPayload,
+            @NotNull OffsetDateTime scannedAt // Device clock at scan time
+    ) {}
+}
@@ -0,0 +1,8 @@
+package com.kd.eventmanagement.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CreateBroadcastRequest(
+        @NotBlank @Size(max = 4096) String message
+) {}
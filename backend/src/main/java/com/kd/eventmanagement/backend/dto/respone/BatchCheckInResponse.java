@@ -0,0 +1,20 @@
+package com.kd.eventmanagement.backend.dto.respone;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record BatchCheckInResponse(
+        int total,
+        int succeeded,
+        int failed,
+        List<Item> results
+) {
+    public record Item(
+            String clientScanId,
+            boolean success,
+            String message,
+            String attendeeName,
+            String ticketNo,
+            OffsetDateTime checkedInAt
+    ) {}
+}
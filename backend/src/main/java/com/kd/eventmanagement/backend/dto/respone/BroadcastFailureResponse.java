@@ -0,0 +1,9 @@
+package com.kd.eventmanagement.backend.dto.respone;
+
+import java.time.OffsetDateTime;
+
+public record BroadcastFailureResponse(
+        Long telegramUserId,
+        String error,
+        OffsetDateTime failedAt
+) {}
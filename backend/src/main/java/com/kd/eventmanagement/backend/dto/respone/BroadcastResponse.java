@@ -0,0 +1,18 @@
+package com.kd.eventmanagement.backend.dto.respone;
+
+import com.kd.eventmanagement.backend.entity.Broadcast;
+
+import java.time.OffsetDateTime;
+
+public record BroadcastResponse(
+        String hashId,
+        String eventHashId,
+        String message,
+        Broadcast.BroadcastStatus status,
+        long totalRecipients,
+        long sentCount,
+        long failedCount,
+        String createdBy,
+        OffsetDateTime createdAt,
+        OffsetDateTime completedAt
+) {}
@@ -0,0 +1,10 @@
+package com.kd.eventmanagement.backend.dto.respone;
+
+import java.time.OffsetDateTime;
+
+public record CheckInNotification(
+        String ticketNo,
+        String attendeeName,
+        String checkedInBy,
+        OffsetDateTime checkedInAt
+) {}
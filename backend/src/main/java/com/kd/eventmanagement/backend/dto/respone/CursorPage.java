@@ -0,0 +1,15 @@
+package com.kd.eventmanagement.backend.dto.respone;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing
+ *
+ * @param nextCursor pass back to get the following page; null on the last page
+ * @param totalItems only set when the caller asked for the total
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        Long totalItems
+) {}
@@ -19,4 +19,5 @@ public class EventResponse {
     private OffsetDateTime startAt;
     private OffsetDateTime endAt;
     private String status;
+    private Long version;
 }
@@ -0,0 +1,7 @@
+package com.kd.eventmanagement.backend.dto.respone;
+
+public record EventStatsUpdate(
+        long totalAttendees,
+        long checkedInCount,
+        double checkedInPercentage
+) {}
@@ -0,0 +1,10 @@
+package com.kd.eventmanagement.backend.dto.respone;
+
+/**
+ * Public half of the gate bundle signing key, for provisioning offline devices
+ *
+ * @param keyId     matches the key id in every bundle header
+ * @param algorithm signature scheme, {@code Ed25519ph}
+ * @param publicKey X.509 encoding, Base64
+ */
+public record GateBundleKeyResponse(int keyId, String algorithm, String publicKey) {}
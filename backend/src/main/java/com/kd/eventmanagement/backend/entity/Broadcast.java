@@ -0,0 +1,70 @@
+package com.kd.eventmanagement.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Admin message to every attendee of an event. Progress is checkpointed as a keyset cursor over
+ * attendee telegramUserIds, so a broadcast interrupted by a restart resumes where it stopped.
+ * The instance sending it holds a lease that it renews at every checkpoint; another instance only
+ * picks the broadcast up once that lease has run out.
+ */
+@Entity
+@Table(name = "broadcasts", indexes = {
+        @Index(name = "idx_broadcasts_status", columnList = "status"),
+        @Index(name = "idx_broadcasts_status_lease", columnList = "status,leaseUntil")
+})
+@Getter @Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Broadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Event event;
+
+    @Column(nullable = false, length = 4096)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BroadcastStatus status;
+
+    // Highest telegramUserId already processed; null before the first page
+    private Long lastTelegramUserId;
+
+    @Column(nullable = false)
+    private long totalRecipients;
+
+    @Column(nullable = false)
+    private long sentCount;
+
+    @Column(nullable = false)
+    private long failedCount;
+
+    @Column(length = 80)
+    private String createdBy;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+
+    private OffsetDateTime startedAt;
+
+    private OffsetDateTime completedAt;
+
+    // Runner instance currently sending; null when nobody holds the lease
+    @Column(length = 64)
+    private String leaseOwner;
+
+    private OffsetDateTime leaseUntil;
+
+    public enum BroadcastStatus {
+        RUNNING, COMPLETED, CANCELLED
+    }
+}
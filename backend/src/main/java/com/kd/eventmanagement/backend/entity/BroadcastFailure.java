@@ -0,0 +1,33 @@
+package com.kd.eventmanagement.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "broadcast_failures", indexes = {
+        @Index(name = "idx_broadcast_failures_broadcast", columnList = "broadcast_id")
+})
+@Getter @Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastFailure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Broadcast broadcast;
+
+    @Column(nullable = false)
+    private Long telegramUserId;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+}
@@ -7,7 +7,11 @@ import java.time.OffsetDateTime;
 
 @Entity
 @Table(name = "events", indexes = {
-        @Index(name = "idx_events_code", columnList = "code", unique = true)
+        @Index(name = "idx_events_code", columnList = "code", unique = true),
+        @Index(name = "idx_events_hashId", columnList = "hashId", unique = true),
+        // Keyset listing: newest first, with and without the status filter
+        @Index(name = "idx_events_createdAt_id", columnList = "createdAt,id"),
+        @Index(name = "idx_events_status_createdAt_id", columnList = "status,createdAt,id")
 })
 @Getter @Setter
 @Builder
@@ -22,6 +26,12 @@ public class Event {
     @Column(nullable = false, unique = true, length = 32)
     private String code;
 
+    // Public id, stored so responses and lookups skip Hashids. Assigned right after the insert that
+    // generates the id; rows created before the column existed are filled in on startup. Only ever
+    // written by EventRepository.assignHashId, so setting it never makes the entity dirty.
+    @Column(unique = true, length = 32, updatable = false)
+    private String hashId;
+
     @Column(nullable = false, length = 200)
     private String title;
 
@@ -44,6 +54,12 @@ public class Event {
     @Column(nullable = false)
     private OffsetDateTime createdAt;
 
+    // Bumped on every update; feeds optimistic locking and the ETag of the event resource.
+    // The default lets ddl-auto add the column to tables that already have rows.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
+
     public enum EventStatus {
         DRAFT, PUBLISHED, CLOSED
     }
@@ -0,0 +1,57 @@
+package com.kd.eventmanagement.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Telegram message written in the same transaction as the change that triggers it and delivered
+ * later by the outbox dispatcher, so callers never wait on Telegram.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_status_next", columnList = "status,nextAttemptAt"),
+        @Index(name = "idx_notification_outbox_status_lease", columnList = "status,leaseUntil")
+})
+@Getter @Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String chatId;
+
+    @Column(nullable = false, length = 4096)
+    private String text;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private OffsetDateTime createdAt;
+
+    private OffsetDateTime sentAt;
+
+    // Set while a dispatcher owns an IN_FLIGHT message; once it passes the message can be claimed again
+    private OffsetDateTime leaseUntil;
+
+    public enum OutboxStatus {
+        PENDING, IN_FLIGHT, SENT, FAILED
+    }
+}
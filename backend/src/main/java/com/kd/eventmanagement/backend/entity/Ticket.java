@@ -8,7 +8,10 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "tickets", indexes = {
-        @Index(name = "idx_tickets_event_ticketNo", columnList = "event_id,ticketNo", unique = true)
+        @Index(name = "idx_tickets_event_ticketNo", columnList = "event_id,ticketNo", unique = true),
+        @Index(name = "idx_tickets_event_updatedAt", columnList = "event_id,updatedAt"),
+        // Keyset pages of gate bundles
+        @Index(name = "idx_tickets_event_id", columnList = "event_id,id")
 })
 @Getter @Setter
 @Builder
@@ -41,6 +44,15 @@ public class Ticket {
     @Column(nullable = false)
     private OffsetDateTime issuedAt;
 
+    // Drives gate bundle deltas; plain SQL updates of tickets must set it too
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = OffsetDateTime.now();
+    }
+
     public enum TicketStatus {
         ACTIVE, REVOKED
     }
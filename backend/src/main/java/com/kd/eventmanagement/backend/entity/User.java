@@ -1,4 +1,5 @@
 package com.kd.eventmanagement.backend.entity;
+import com.kd.eventmanagement.backend.entity.listener.UserChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,6 +9,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
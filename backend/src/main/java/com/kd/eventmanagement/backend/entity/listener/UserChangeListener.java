@@ -0,0 +1,29 @@
+package com.kd.eventmanagement.backend.entity.listener;
+
+import com.kd.eventmanagement.backend.cache.PrincipalCache;
+import com.kd.eventmanagement.backend.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops a user's cached principal when the account is disabled, its roles change or it is deleted.
+ * Hibernate obtains the listener from the Spring context while the EntityManagerFactory is being built;
+ * the cache depends on a repository and therefore on that factory, hence the lazy proxy.
+ */
+@Component
+public class UserChangeListener {
+
+    private final PrincipalCache principalCache;
+
+    public UserChangeListener(@Lazy PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void userChanged(User user) {
+        principalCache.invalidate(user.getUsername());
+    }
+}
@@ -0,0 +1,279 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import com.kd.eventmanagement.backend.common.util.AfterCommit;
+import com.kd.eventmanagement.backend.entity.Broadcast;
+import com.kd.eventmanagement.backend.entity.BroadcastFailure;
+import com.kd.eventmanagement.backend.repository.AttendeeRepository;
+import com.kd.eventmanagement.backend.repository.BroadcastFailureRepository;
+import com.kd.eventmanagement.backend.repository.BroadcastRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives broadcasts to attendees. Each broadcast runs on its own virtual thread and walks the
+ * attendee telegramUserIds in keyset pages; sends inside a page are pipelined, with the shared
+ * {@link TelegramRateLimiter} as the only pacing, so throughput stays at the Bot API limit rather than
+ * at one round trip per message. Throttled sends are retried within the page after retry_after.
+ * <p>
+ * After each page the cursor, counters and permanent failures are saved in one short transaction,
+ * which is also where cancellation is noticed. A broadcast interrupted by a restart resumes from the
+ * last checkpoint, so delivery is at-least-once: at most one page may be sent twice.
+ * <p>
+ * Only the instance holding a broadcast's lease sends it. The lease is claimed before the first
+ * page and renewed at every checkpoint; a runner whose lease was taken over stops at its next
+ * checkpoint. Broadcasts whose owner died are picked up by the periodic sweep once the lease expires.
+ */
+@Slf4j
+@Component
+public class BroadcastRunner {
+
+    private final BroadcastRepository broadcastRepository;
+    private final BroadcastFailureRepository broadcastFailureRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final TelegramBotClient telegramBotClient;
+    private final TelegramRateLimiter rateLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final int maxRetries;
+    private final long leaseSeconds;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public BroadcastRunner(BroadcastRepository broadcastRepository,
+                           BroadcastFailureRepository broadcastFailureRepository,
+                           AttendeeRepository attendeeRepository,
+                           TelegramBotClient telegramBotClient,
+                           TelegramRateLimiter rateLimiter,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.broadcast.page-size:200}") int pageSize,
+                           @Value("${app.broadcast.max-retries:3}") int maxRetries,
+                           @Value("${app.broadcast.lease-seconds:300}") long leaseSeconds) {
+        this.broadcastRepository = broadcastRepository;
+        this.broadcastFailureRepository = broadcastFailureRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.telegramBotClient = telegramBotClient;
+        this.rateLimiter = rateLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        this.maxRetries = maxRetries;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Start sending once the transaction that created the broadcast has committed
+     */
+    public void start(Long broadcastId) {
+        AfterCommit.run(() -> launch(broadcastId));
+    }
+
+    /**
+     * Claim running broadcasts left without a live lease, by a restart or a dead instance, and
+     * resume them from their last checkpoint
+     */
+    @Scheduled(fixedDelayString = "${app.broadcast.resume-interval-ms:60000}")
+    public void resumeInterrupted() {
+        List<Broadcast> claimed = transactionTemplate.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<Broadcast> resumable = broadcastRepository.lockResumable(now);
+            for (Broadcast broadcast : resumable) {
+                broadcast.setLeaseOwner(instanceId);
+                broadcast.setLeaseUntil(now.plusSeconds(leaseSeconds));
+            }
+            return resumable;
+        });
+        if (claimed == null) {
+            return;
+        }
+        for (Broadcast broadcast : claimed) {
+            log.info("Resuming broadcast {} after attendee {}", broadcast.getId(), broadcast.getLastTelegramUserId());
+            launch(broadcast.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Interrupted runs stay RUNNING and pick up from their last checkpoint on the next start
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        try {
+            // Hand the leases back so the next start resumes at once instead of waiting them out
+            transactionTemplate.executeWithoutResult(status -> broadcastRepository.releaseLeases(instanceId));
+        } catch (Exception e) {
+            log.warn("Could not release broadcast leases; they are resumed once they expire", e);
+        }
+    }
+
+    private void launch(Long broadcastId) {
+        if (running.add(broadcastId)) {
+            executor.execute(() -> run(broadcastId));
+        }
+    }
+
+    private void run(Long broadcastId) {
+        try {
+            Broadcast broadcast = claim(broadcastId);
+            if (broadcast == null) {
+                return;
+            }
+            Long eventId = broadcast.getEvent().getId();
+            String message = broadcast.getMessage();
+            long cursor = broadcast.getLastTelegramUserId() != null ? broadcast.getLastTelegramUserId() : Long.MIN_VALUE;
+
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Long> recipients = attendeeRepository.findTelegramUserIdsAfter(eventId, cursor, PageRequest.of(0, pageSize));
+                if (recipients.isEmpty()) {
+                    complete(broadcastId);
+                    return;
+                }
+                Map<Long, String> failures = sendPage(recipients, message);
+                cursor = recipients.getLast();
+                if (!checkpoint(broadcastId, cursor, recipients.size() - failures.size(), failures)) {
+                    log.info("Broadcast {} cancelled after attendee {}", broadcastId, cursor);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Left RUNNING on purpose so the next start retries from the last checkpoint
+            log.error("Broadcast {} stopped unexpectedly", broadcastId, e);
+        } finally {
+            running.remove(broadcastId);
+        }
+    }
+
+    /**
+     * Take or renew the lease on a running broadcast
+     *
+     * @return the broadcast, or null when it is no longer running or another instance holds a live lease
+     */
+    private Broadcast claim(Long broadcastId) {
+        return transactionTemplate.execute(status -> {
+            Broadcast broadcast = broadcastRepository.lockById(broadcastId).orElse(null);
+            if (broadcast == null || broadcast.getStatus() != Broadcast.BroadcastStatus.RUNNING) {
+                return null;
+            }
+            OffsetDateTime now = OffsetDateTime.now();
+            if (!ownsOrExpired(broadcast, now)) {
+                return null;
+            }
+            broadcast.setLeaseOwner(instanceId);
+            broadcast.setLeaseUntil(now.plusSeconds(leaseSeconds));
+            return broadcast;
+        });
+    }
+
+    private boolean ownsOrExpired(Broadcast broadcast, OffsetDateTime now) {
+        return broadcast.getLeaseOwner() == null
+                || instanceId.equals(broadcast.getLeaseOwner())
+                || broadcast.getLeaseUntil() == null
+                || !broadcast.getLeaseUntil().isAfter(now);
+    }
+
+    /**
+     * Send to one page of recipients
+     *
+     * @return recipients that could not be reached, with the last error
+     */
+    private Map<Long, String> sendPage(List<Long> recipients, String message) throws InterruptedException {
+        Map<Long, String> failures = new LinkedHashMap<>();
+        List<Long> pending = recipients;
+        for (int round = 0; !pending.isEmpty(); round++) {
+            Map<Long, CompletableFuture<TelegramSendResult>> inFlight = new LinkedHashMap<>();
+            for (Long recipient : pending) {
+                rateLimiter.acquireGlobal();
+                inFlight.put(recipient, telegramBotClient.sendAsync(String.valueOf(recipient), message));
+            }
+
+            List<Long> retry = new ArrayList<>();
+            long retryAfterSeconds = 1;
+            for (Map.Entry<Long, CompletableFuture<TelegramSendResult>> entry : inFlight.entrySet()) {
+                TelegramSendResult result = entry.getValue().join();
+                switch (result.outcome()) {
+                    case SENT -> failures.remove(entry.getKey());
+                    case RETRY -> {
+                        failures.put(entry.getKey(), result.error());
+                        retry.add(entry.getKey());
+                        retryAfterSeconds = Math.max(retryAfterSeconds, result.retryAfterSeconds());
+                    }
+                    case FAILED -> failures.put(entry.getKey(), result.error());
+                }
+            }
+            if (retry.isEmpty() || round >= maxRetries) {
+                break;
+            }
+            Thread.sleep(retryAfterSeconds * 1000);
+            pending = retry;
+        }
+        return failures;
+    }
+
+    /**
+     * Persist progress after a page and renew the lease
+     *
+     * @return false when the broadcast was cancelled meanwhile or another instance has taken it over
+     */
+    private boolean checkpoint(Long broadcastId, long cursor, int sent, Map<Long, String> failures) {
+        Boolean stillRunning = transactionTemplate.execute(status -> {
+            Broadcast broadcast = broadcastRepository.lockById(broadcastId).orElse(null);
+            if (broadcast == null || !instanceId.equals(broadcast.getLeaseOwner())) {
+                // Our lease lapsed and the new owner resumes from its own checkpoint
+                return false;
+            }
+            broadcast.setLeaseUntil(OffsetDateTime.now().plusSeconds(leaseSeconds));
+            broadcast.setLastTelegramUserId(cursor);
+            broadcast.setSentCount(broadcast.getSentCount() + sent);
+            broadcast.setFailedCount(broadcast.getFailedCount() + failures.size());
+            if (!failures.isEmpty()) {
+                OffsetDateTime now = OffsetDateTime.now();
+                List<BroadcastFailure> rows = new ArrayList<>(failures.size());
+                failures.forEach((telegramUserId, error) -> rows.add(BroadcastFailure.builder()
+                        .broadcast(broadcast)
+                        .telegramUserId(telegramUserId)
+                        .error(truncate(error))
+                        .createdAt(now)
+                        .build()));
+                broadcastFailureRepository.saveAll(rows);
+            }
+            return broadcast.getStatus() == Broadcast.BroadcastStatus.RUNNING;
+        });
+        return Boolean.TRUE.equals(stillRunning);
+    }
+
+    private void complete(Long broadcastId) {
+        transactionTemplate.executeWithoutResult(status -> broadcastRepository.lockById(broadcastId).ifPresent(broadcast -> {
+            broadcast.setLeaseOwner(null);
+            broadcast.setLeaseUntil(null);
+            if (broadcast.getStatus() == Broadcast.BroadcastStatus.RUNNING) {
+                broadcast.setStatus(Broadcast.BroadcastStatus.COMPLETED);
+                broadcast.setCompletedAt(OffsetDateTime.now());
+                log.info("Broadcast {} completed: {} sent, {} failed",
+                        broadcastId, broadcast.getSentCount(), broadcast.getFailedCount());
+            }
+        }));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -0,0 +1,90 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import com.kd.eventmanagement.backend.common.event.EventChangedEvent;
+import com.kd.eventmanagement.backend.dto.respone.EventResponse;
+import com.kd.eventmanagement.backend.entity.Event;
+import com.kd.eventmanagement.backend.service.EventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The bot's /events reply, rendered once and served from memory until an event changes. A miss is
+ * rendered by a single caller while concurrent callers wait for it, so a burst of /events commands
+ * costs one query. A render that overlaps an invalidation is returned but not kept.
+ */
+@Slf4j
+@Component
+public class PublishedEventsMessageCache {
+
+    private static final int LISTED_EVENTS = 5;
+
+    private final EventService eventService;
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Rendered current;
+
+    public PublishedEventsMessageCache(EventService eventService,
+                                       @Value("${telegram.bot.events-message-ttl-seconds:300}") long ttlSeconds) {
+        this.eventService = eventService;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public String get() {
+        Rendered rendered = current;
+        if (rendered != null && rendered.isFresh(ttlNanos)) {
+            return rendered.text();
+        }
+        synchronized (this) {
+            rendered = current;
+            if (rendered != null && rendered.isFresh(ttlNanos)) {
+                return rendered.text();
+            }
+            long renderedGeneration = generation.get();
+            String text = render();
+            if (generation.get() == renderedGeneration) {
+                current = new Rendered(text, System.nanoTime());
+            }
+            return text;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        generation.incrementAndGet();
+        current = null;
+        log.debug("Dropped cached /events message after {} of event {}", change.change(), change.code());
+    }
+
+    private String render() {
+        List<EventResponse> events = eventService.getAllEvents(1, LISTED_EVENTS, null, Event.EventStatus.PUBLISHED).getContent();
+
+        if (events.isEmpty()) {
+            return "No events available at the moment.";
+        }
+
+        StringBuilder eventsList = new StringBuilder("Upcoming events:\n\n");
+        for (EventResponse event : events) {
+            eventsList.append("- ").append(event.getTitle()).append("\n");
+            eventsList.append("  Code: ").append(event.getCode()).append("\n");
+            if (event.getLocation() != null && !event.getLocation().isBlank()) {
+                eventsList.append("  Location: ").append(event.getLocation()).append("\n");
+            }
+            eventsList.append("\n");
+        }
+        eventsList.append("Use /register <EVENT_CODE> to open the registration form.");
+        return eventsList.toString();
+    }
+
+    private record Rendered(String text, long renderedAtNanos) {
+        boolean isFresh(long ttlNanos) {
+            return System.nanoTime() - renderedAtNanos < ttlNanos;
+        }
+    }
+}
@@ -1,99 +1,143 @@
 package com.kd.eventmanagement.backend.integration.telegram;
 
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
-
-import java.util.HashMap;
-import java.util.Map;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Telegram Bot API client on the JDK HttpClient: one shared client (connection reuse, HTTP/2 when the
+ * server offers it), connect and request timeouts, the sendMessage URI built once, and JSON bodies
+ * written straight into a string. Sends are asynchronous; the fire-and-forget methods never block the
+ * caller, and {@link #deliver} waits for a classified result for the outbox dispatcher.
+ */
 @Component
 public class TelegramBotClient {
 
     private static final Logger logger = LoggerFactory.getLogger(TelegramBotClient.class);
 
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    @Value("${telegram.bot.token}")
-    private String botToken;
-
-    @Value("${telegram.bot.chat-id}")
-    private String chatId;
+    private static final Pattern RETRY_AFTER = Pattern.compile("\"retry_after\"\\s*:\\s*(\\d+)");
+
+    private final String chatId;
+    private final URI sendMessageUri;
+    private final Duration requestTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+
+    public TelegramBotClient(@Value("${telegram.bot.token}") String botToken,
+                             @Value("${telegram.bot.chat-id}") String chatId,
+                             // Overridable so the client can be pointed at a local stub server
+                             @Value("${telegram.bot.api-base-url:https://api.telegram.org}") String apiBaseUrl,
+                             @Value("${telegram.bot.connect-timeout-ms:3000}") long connectTimeoutMillis,
+                             @Value("${telegram.bot.request-timeout-ms:10000}") long requestTimeoutMillis) {
+        this.chatId = chatId;
+        this.sendMessageUri = URI.create(apiBaseUrl + "/bot" + botToken + "/sendMessage");
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .executor(executor)
+                .build();
+    }
 
     /**
      * Send message to default chat
      */
     public void sendMessage(String message) {
-        sendMessage(chatId, message);
+        sendAndLog(chatId, TelegramJson.sendMessage(chatId, message));
     }
 
     /**
      * Send message to specific user by telegram user ID
+     *
+     * @return completes once Telegram has answered; callers that do not care about ordering can ignore it
      */
-    public void sendMessageToUser(Long telegramUserId, String message) {
-        sendMessage(String.valueOf(telegramUserId), message);
+    public CompletableFuture<TelegramSendResult> sendMessageToUser(Long telegramUserId, String message) {
+        String target = String.valueOf(telegramUserId);
+        return sendAndLog(target, TelegramJson.sendMessage(target, message));
     }
 
     /**
      * Send message with inline keyboard (for Web App button)
      */
-    public void sendMessageWithWebAppButton(Long telegramUserId, String message, String buttonText, String webAppUrl) {
-        try {
-            String url = "https://api.telegram.org/bot" + botToken + "/sendMessage";
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> webApp = new HashMap<>();
-            webApp.put("url", webAppUrl);
-
-            Map<String, Object> button = new HashMap<>();
-            button.put("text", buttonText);
-            button.put("web_app", webApp);
-
-            Map<String, Object> keyboard = new HashMap<>();
-            keyboard.put("inline_keyboard", new Object[][]{
-                {button}
-            });
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("chat_id", String.valueOf(telegramUserId));
-            body.put("text", message);
-            body.put("parse_mode", "HTML");
-            body.put("reply_markup", keyboard);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
-            restTemplate.postForObject(url, request, String.class);
-            logger.info("✅ Telegram message with Web App button sent to user {}", telegramUserId);
-
-        } catch (Exception e) {
-            logger.error("❌ Telegram send failed", e);
-        }
+    public CompletableFuture<TelegramSendResult> sendMessageWithWebAppButton(Long telegramUserId, String message, String buttonText, String webAppUrl) {
+        String target = String.valueOf(telegramUserId);
+        return sendAndLog(target, TelegramJson.sendMessageWithWebAppButton(target, message, buttonText, webAppUrl));
     }
 
-    private void sendMessage(String chatIdOrUserId, String message) {
-        try {
-            String url = "https://api.telegram.org/bot" + botToken + "/sendMessage";
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+    /**
+     * Send an HTML message asynchronously; the future never completes exceptionally
+     */
+    public CompletableFuture<TelegramSendResult> sendAsync(String chatIdOrUserId, String message) {
+        return post(TelegramJson.sendMessage(chatIdOrUserId, message));
+    }
 
-            Map<String, Object> body = new HashMap<>();
-            body.put("chat_id", chatIdOrUserId);
-            body.put("text", message);
-            body.put("parse_mode", "HTML");
+    /**
+     * Send a message and wait for the classified outcome; used by the outbox dispatcher
+     */
+    public TelegramSendResult deliver(String chatIdOrUserId, String message) {
+        return sendAsync(chatIdOrUserId, message).join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
 
-            HttpEntity<Map<String, Object>> request =
-                    new HttpEntity<>(body, headers);
+    private CompletableFuture<TelegramSendResult> sendAndLog(String target, String body) {
+        return post(body).thenApply(result -> {
+            if (result.outcome() == TelegramSendResult.Outcome.SENT) {
+                logger.info("✅ Telegram message sent to {}", target);
+            } else {
+                logger.error("❌ Telegram send to {} failed: {}", target, result.error());
+            }
+            return result;
+        });
+    }
 
-            restTemplate.postForObject(url, request, String.class);
-            logger.info("✅ Telegram message sent to {}", chatIdOrUserId);
+    private CompletableFuture<TelegramSendResult> post(String body) {
+        HttpRequest request = HttpRequest.newBuilder(sendMessageUri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(TelegramBotClient::classify)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    // Timeouts and connection failures are worth another try; anything else is a bug here
+                    return cause instanceof IOException
+                            ? TelegramSendResult.retry(0, cause.toString())
+                            : TelegramSendResult.failed(cause.toString());
+                });
+    }
 
-        } catch (Exception e) {
-            logger.error("❌ Telegram send failed", e);
+    private static TelegramSendResult classify(HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status == 200) {
+            return TelegramSendResult.sent();
+        }
+        if (status == 429) {
+            Matcher m = RETRY_AFTER.matcher(response.body());
+            return TelegramSendResult.retry(m.find() ? Long.parseLong(m.group(1)) : 1, response.body());
+        }
+        if (status >= 500) {
+            return TelegramSendResult.retry(0, status + " " + response.body());
         }
+        return TelegramSendResult.failed(status + " " + response.body());
     }
 }
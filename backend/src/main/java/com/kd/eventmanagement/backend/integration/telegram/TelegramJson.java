@@ -0,0 +1,57 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+/**
+ * Bot API request bodies written directly as JSON text. The bodies have a fixed shape, so this avoids
+ * building maps per message and running them through a general-purpose serializer.
+ */
+final class TelegramJson {
+
+    private TelegramJson() {
+    }
+
+    static String sendMessage(String chatId, String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 64);
+        sb.append("{\"chat_id\":");
+        string(sb, chatId);
+        sb.append(",\"text\":");
+        string(sb, text);
+        sb.append(",\"parse_mode\":\"HTML\"}");
+        return sb.toString();
+    }
+
+    static String sendMessageWithWebAppButton(String chatId, String text, String buttonText, String webAppUrl) {
+        StringBuilder sb = new StringBuilder(text.length() + webAppUrl.length() + 128);
+        sb.append("{\"chat_id\":");
+        string(sb, chatId);
+        sb.append(",\"text\":");
+        string(sb, text);
+        sb.append(",\"parse_mode\":\"HTML\",\"reply_markup\":{\"inline_keyboard\":[[{\"text\":");
+        string(sb, buttonText);
+        sb.append(",\"web_app\":{\"url\":");
+        string(sb, webAppUrl);
+        sb.append("}}]]}}");
+        return sb.toString();
+    }
+
+    private static void string(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
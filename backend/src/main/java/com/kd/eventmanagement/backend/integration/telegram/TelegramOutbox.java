@@ -0,0 +1,32 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import com.kd.eventmanagement.backend.entity.NotificationOutbox;
+import com.kd.eventmanagement.backend.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Queues Telegram messages in the notification_outbox table. Call it inside the business transaction:
+ * the message is committed (or rolled back) together with the change it announces, and
+ * {@link TelegramOutboxDispatcher} delivers it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class TelegramOutbox {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+
+    public void enqueue(Long telegramUserId, String text) {
+        OffsetDateTime now = OffsetDateTime.now();
+        notificationOutboxRepository.save(NotificationOutbox.builder()
+                .chatId(String.valueOf(telegramUserId))
+                .text(text)
+                .status(NotificationOutbox.OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+}
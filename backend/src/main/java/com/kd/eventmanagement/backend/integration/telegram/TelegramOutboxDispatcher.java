@@ -0,0 +1,180 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import com.kd.eventmanagement.backend.entity.NotificationOutbox;
+import com.kd.eventmanagement.backend.repository.NotificationOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Delivers pending outbox messages in small batches. A short transaction claims due rows with
+ * FOR UPDATE SKIP LOCKED and marks them IN_FLIGHT under a lease, so several instances can dispatch
+ * concurrently without picking the same message. Sends then run outside any transaction, and each
+ * outcome is recorded in its own short transaction, so no connection is held across a Telegram round
+ * trip and a failure never rolls back messages that were already delivered. Messages of a dispatcher
+ * that dies mid-batch are claimed again once their lease expires.
+ * <p>
+ * Every send goes through {@link TelegramRateLimiter}; throttled (429) and transient failures are
+ * retried with exponential backoff, permanent rejections and messages out of attempts are marked FAILED.
+ */
+@Slf4j
+@Component
+public class TelegramOutboxDispatcher {
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final TelegramBotClient telegramBotClient;
+    private final TelegramRateLimiter rateLimiter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffSeconds;
+    private final long maxBackoffSeconds;
+    private final int retentionDays;
+    private final long leaseSeconds;
+
+    public TelegramOutboxDispatcher(NotificationOutboxRepository notificationOutboxRepository,
+                                    TelegramBotClient telegramBotClient,
+                                    TelegramRateLimiter rateLimiter,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.notifications.batch-size:50}") int batchSize,
+                                    @Value("${app.notifications.max-attempts:8}") int maxAttempts,
+                                    @Value("${app.notifications.base-backoff-seconds:5}") long baseBackoffSeconds,
+                                    @Value("${app.notifications.max-backoff-seconds:900}") long maxBackoffSeconds,
+                                    @Value("${app.notifications.retention-days:7}") int retentionDays,
+                                    @Value("${app.notifications.lease-seconds:300}") long leaseSeconds) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.telegramBotClient = telegramBotClient;
+        this.rateLimiter = rateLimiter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffSeconds = baseBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.retentionDays = retentionDays;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.dispatch-interval-ms:500}")
+    public void dispatch() {
+        List<ClaimedMessage> claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> claimBatch());
+            if (claimed == null) {
+                return;
+            }
+            claimed.forEach(this::send);
+        } while (claimed.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.cleanup-interval-ms:3600000}")
+    public void purgeSent() {
+        Integer deleted = transactionTemplate.execute(status -> notificationOutboxRepository.deleteByStatusAndCreatedAtBefore(
+                NotificationOutbox.OutboxStatus.SENT, OffsetDateTime.now().minusDays(retentionDays)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} delivered outbox messages", deleted);
+        }
+    }
+
+    private List<ClaimedMessage> claimBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        List<NotificationOutbox> due = notificationOutboxRepository.lockClaimable(now, batchSize);
+        for (NotificationOutbox message : due) {
+            message.setStatus(NotificationOutbox.OutboxStatus.IN_FLIGHT);
+            message.setLeaseUntil(leaseUntil);
+        }
+        return due.stream()
+                .map(message -> new ClaimedMessage(message.getId(), message.getChatId(), message.getText()))
+                .toList();
+    }
+
+    private void send(ClaimedMessage message) {
+        if (!rateLimiter.tryAcquireChat(message.chatId())) {
+            // Same chat messaged within the last second; try again next round
+            record(message.id(), outbox -> {
+                outbox.setStatus(NotificationOutbox.OutboxStatus.PENDING);
+                outbox.setLeaseUntil(null);
+                outbox.setNextAttemptAt(OffsetDateTime.now().plusSeconds(1));
+            });
+            return;
+        }
+
+        TelegramSendResult result;
+        try {
+            rateLimiter.acquireGlobal();
+            result = telegramBotClient.deliver(message.chatId(), message.text());
+        } catch (Exception e) {
+            log.error("Unexpected error delivering outbox message {}", message.id(), e);
+            result = TelegramSendResult.retry(0, e.toString());
+        }
+        TelegramSendResult outcome = result;
+        record(message.id(), outbox -> apply(outbox, outcome));
+    }
+
+    /**
+     * Apply an outcome in its own transaction; skipped when the message is no longer in flight
+     */
+    private void record(Long messageId, Consumer<NotificationOutbox> update) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> notificationOutboxRepository.findById(messageId)
+                    .filter(outbox -> outbox.getStatus() == NotificationOutbox.OutboxStatus.IN_FLIGHT)
+                    .ifPresent(update));
+        } catch (Exception e) {
+            // The lease runs out and the message is claimed again; at worst it is delivered twice
+            log.error("Failed to record outcome of outbox message {}", messageId, e);
+        }
+    }
+
+    private void apply(NotificationOutbox message, TelegramSendResult result) {
+        OffsetDateTime now = OffsetDateTime.now();
+        message.setLeaseUntil(null);
+        switch (result.outcome()) {
+            case SENT -> {
+                message.setStatus(NotificationOutbox.OutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+            }
+            case RETRY -> {
+                message.setStatus(NotificationOutbox.OutboxStatus.PENDING);
+                message.setLastError(truncate(result.error()));
+                if (result.retryAfterSeconds() > 0) {
+                    // Throttled by Telegram: not the message's fault, so it does not use up an attempt
+                    message.setNextAttemptAt(now.plusSeconds(result.retryAfterSeconds()));
+                    return;
+                }
+                message.setAttempts(message.getAttempts() + 1);
+                if (message.getAttempts() >= maxAttempts) {
+                    markFailed(message);
+                    return;
+                }
+                long backoff = Math.min(maxBackoffSeconds, baseBackoffSeconds << Math.min(20, message.getAttempts() - 1));
+                message.setNextAttemptAt(now.plusSeconds(backoff));
+            }
+            case FAILED -> {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setLastError(truncate(result.error()));
+                markFailed(message);
+            }
+        }
+    }
+
+    private void markFailed(NotificationOutbox message) {
+        message.setStatus(NotificationOutbox.OutboxStatus.FAILED);
+        log.warn("Giving up on outbox message {} to chat {} after {} attempts: {}",
+                message.getId(), message.getChatId(), message.getAttempts(), message.getLastError());
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    private record ClaimedMessage(Long id, String chatId, String text) {
+    }
+}
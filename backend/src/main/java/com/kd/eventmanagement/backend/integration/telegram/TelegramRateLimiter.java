@@ -0,0 +1,51 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Telegram Bot API send limits shared by every sender in this instance:
+ * about 30 messages per second overall and about 1 per second to the same chat.
+ */
+@Component
+public class TelegramRateLimiter {
+
+    private final TokenBucket global;
+    private final Cache<String, TokenBucket> perChat;
+    private final double perChatRate;
+
+    public TelegramRateLimiter(@Value("${telegram.bot.rate-limit.global-per-second:30}") double globalRate,
+                               @Value("${telegram.bot.rate-limit.per-chat-per-second:1}") double perChatRate) {
+        this.global = new TokenBucket(globalRate, globalRate);
+        this.perChatRate = perChatRate;
+        this.perChat = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Claim the per-chat slot without waiting
+     *
+     * @return false when this chat was messaged too recently
+     */
+    public boolean tryAcquireChat(String chatId) {
+        return perChat.get(chatId, id -> new TokenBucket(1, perChatRate)).tryAcquire();
+    }
+
+    /**
+     * Block until a global send slot is available
+     */
+    public void acquireGlobal() {
+        long deadline = System.nanoTime() + global.reserve();
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+/**
+ * Outcome of a Bot API call, classified for retry decisions
+ */
+public record TelegramSendResult(Outcome outcome, long retryAfterSeconds, String error) {
+
+    public enum Outcome {
+        /** Delivered */
+        SENT,
+        /** Throttled (429) or transient failure (5xx, I/O); worth retrying */
+        RETRY,
+        /** Rejected for good, e.g. the user blocked the bot or the chat does not exist */
+        FAILED
+    }
+
+    public static TelegramSendResult sent() {
+        return new TelegramSendResult(Outcome.SENT, 0, null);
+    }
+
+    public static TelegramSendResult retry(long retryAfterSeconds, String error) {
+        return new TelegramSendResult(Outcome.RETRY, retryAfterSeconds, error);
+    }
+
+    public static TelegramSendResult failed(String error) {
+        return new TelegramSendResult(Outcome.FAILED, 0, error);
+    }
+}
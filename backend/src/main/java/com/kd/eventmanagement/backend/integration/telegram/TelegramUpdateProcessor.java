@@ -0,0 +1,271 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kd.eventmanagement.backend.dto.respone.EventResponse;
+import com.kd.eventmanagement.backend.service.EventService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Handles bot updates off the webhook request thread. Telegram redelivers an update until the webhook
+ * answers, so updates are deduplicated by update_id over a bounded window of recent ids. Each update
+ * runs on a virtual thread; updates from the same chat are chained so they are handled, and answered,
+ * in the order they arrived, while different chats proceed in parallel.
+ */
+@Slf4j
+@Component
+public class TelegramUpdateProcessor {
+
+    private static final CompletableFuture<Void> IDLE = CompletableFuture.completedFuture(null);
+
+    private final TelegramBotClient telegramBotClient;
+    private final EventService eventService;
+    private final PublishedEventsMessageCache publishedEventsMessageCache;
+    private final String webAppBaseUrl;
+    private final Cache<Long, Boolean> seenUpdateIds;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Last queued update per chat; removed again once that chat has nothing left to do
+    private final Map<Long, CompletableFuture<Void>> chatTails = new ConcurrentHashMap<>();
+
+    public TelegramUpdateProcessor(TelegramBotClient telegramBotClient,
+                                   EventService eventService,
+                                   PublishedEventsMessageCache publishedEventsMessageCache,
+                                   @Value("${telegram.bot.web-app-base-url:}") String webAppBaseUrl,
+                                   @Value("${telegram.bot.webhook.dedupe-window:10000}") long dedupeWindow) {
+        this.telegramBotClient = telegramBotClient;
+        this.eventService = eventService;
+        this.publishedEventsMessageCache = publishedEventsMessageCache;
+        this.webAppBaseUrl = webAppBaseUrl;
+        this.seenUpdateIds = Caffeine.newBuilder()
+                .maximumSize(dedupeWindow)
+                .build();
+    }
+
+    /**
+     * Queue an update for processing without waiting for it
+     *
+     * @return false when the update_id was already seen
+     */
+    public boolean submit(Map<String, Object> update) {
+        Long updateId = toLong(update.get("update_id"));
+        if (updateId != null && seenUpdateIds.asMap().putIfAbsent(updateId, Boolean.TRUE) != null) {
+            log.debug("Ignoring redelivered Telegram update {}", updateId);
+            return false;
+        }
+
+        Long chatKey = orderingKey(update);
+        if (chatKey == null) {
+            executor.execute(() -> process(update));
+            return true;
+        }
+        CompletableFuture<Void> tail = chatTails.compute(chatKey, (key, previous) ->
+                (previous != null ? previous : IDLE).handleAsync((ignored, error) -> {
+                    process(update);
+                    return null;
+                }, executor));
+        tail.whenComplete((ignored, error) -> chatTails.remove(chatKey, tail));
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void process(Map<String, Object> update) {
+        try {
+            Map<String, Object> message = asMap(update.get("message"));
+            if (message != null) {
+                handleMessage(message);
+            }
+
+            Map<String, Object> callbackQuery = asMap(update.get("callback_query"));
+            if (callbackQuery != null) {
+                handleCallback(callbackQuery);
+            }
+        } catch (Exception e) {
+            log.error("Telegram update {} failed", update.get("update_id"), e);
+        }
+    }
+
+    private void handleMessage(Map<String, Object> message) {
+        String text = asString(message.get("text"));
+        if (text == null || text.isBlank()) {
+            return;
+        }
+
+        Long userId = extractUserId(message);
+        Long chatId = extractChatId(message);
+        Long targetId = userId != null ? userId : chatId;
+        if (targetId == null) {
+            return;
+        }
+
+        String trimmed = text.trim();
+
+        if (trimmed.startsWith("/start")) {
+            sendWelcome(targetId);
+            return;
+        }
+
+        if (trimmed.startsWith("/help")) {
+            sendHelp(targetId);
+            return;
+        }
+
+        if (trimmed.startsWith("/events")) {
+            sendEvents(targetId);
+            return;
+        }
+
+        if (trimmed.startsWith("/register")) {
+            handleRegisterCommand(targetId, trimmed);
+            return;
+        }
+
+        reply(targetId, "I didn't understand that. Use /help to see available commands.");
+    }
+
+    private void handleCallback(Map<String, Object> callbackQuery) {
+        Map<String, Object> message = asMap(callbackQuery.get("message"));
+        Long chatId = message != null ? extractChatId(message) : null;
+        if (chatId == null) {
+            return;
+        }
+
+        reply(chatId, "Use /register <EVENT_CODE> to open the registration form.");
+    }
+
+    private void sendWelcome(Long targetId) {
+        String welcomeMsg = """
+                Welcome to EventFlow Bot!
+
+                Commands:
+                /events - List upcoming events
+                /register <EVENT_CODE> - Register for an event
+                /help - Show help
+                """;
+        reply(targetId, welcomeMsg);
+    }
+
+    private void sendHelp(Long targetId) {
+        String helpMsg = """
+                EventFlow Bot Commands:
+
+                /events - List upcoming events
+                /register <EVENT_CODE> - Register for an event
+                /help - Show help
+                """;
+        reply(targetId, helpMsg);
+    }
+
+    private void sendEvents(Long targetId) {
+        reply(targetId, publishedEventsMessageCache.get());
+    }
+
+    private void handleRegisterCommand(Long targetId, String text) {
+        String[] parts = text.split("\\s+");
+        if (parts.length < 2) {
+            reply(targetId, "Usage: /register <EVENT_CODE>");
+            return;
+        }
+
+        String eventCode = parts[1].trim();
+        EventResponse event;
+        try {
+            event = eventService.getByCode(eventCode);
+        } catch (Exception e) {
+            reply(targetId, "Event not found. Use /events to list available events.");
+            return;
+        }
+
+        String webAppUrl = buildWebAppUrl(event.getCode());
+        if (webAppUrl == null) {
+            reply(targetId, "Web App URL is not configured. Please contact the admin.");
+            return;
+        }
+
+        String message = "Open registration for: " + event.getTitle();
+        // Wait for the answer so the next update from this chat is answered after this one
+        telegramBotClient.sendMessageWithWebAppButton(targetId, message, "Register", webAppUrl).join();
+    }
+
+    private void reply(Long targetId, String message) {
+        telegramBotClient.sendMessageToUser(targetId, message).join();
+    }
+
+    private String buildWebAppUrl(String eventCode) {
+        if (webAppBaseUrl == null || webAppBaseUrl.isBlank()) {
+            return null;
+        }
+
+        String base = webAppBaseUrl.endsWith("/")
+                ? webAppBaseUrl.substring(0, webAppBaseUrl.length() - 1)
+                : webAppBaseUrl;
+
+        return UriComponentsBuilder.fromUriString(base)
+                .path("/telegram/register")
+                .queryParam("code", eventCode)
+                .build()
+                .toUriString();
+    }
+
+    private Long orderingKey(Map<String, Object> update) {
+        Map<String, Object> message = asMap(update.get("message"));
+        if (message == null) {
+            Map<String, Object> callbackQuery = asMap(update.get("callback_query"));
+            message = callbackQuery != null ? asMap(callbackQuery.get("message")) : null;
+        }
+        if (message == null) {
+            return null;
+        }
+        Long chatId = extractChatId(message);
+        return chatId != null ? chatId : extractUserId(message);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> asMap(Object value) {
+        if (value instanceof Map) {
+            return (Map<String, Object>) value;
+        }
+        return null;
+    }
+
+    private String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private Long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Long.parseLong((String) value);
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private Long extractUserId(Map<String, Object> message) {
+        Map<String, Object> from = asMap(message.get("from"));
+        return from != null ? toLong(from.get("id")) : null;
+    }
+
+    private Long extractChatId(Map<String, Object> message) {
+        Map<String, Object> chat = asMap(message.get("chat"));
+        return chat != null ? toLong(chat.get("id")) : null;
+    }
+}
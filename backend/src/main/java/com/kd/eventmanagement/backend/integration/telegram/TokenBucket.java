@@ -0,0 +1,53 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens, refilled continuously at {@code ratePerSecond}
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double ratePerSecond) {
+        this(capacity, ratePerSecond, System::nanoTime);
+    }
+
+    TokenBucket(double capacity, double ratePerSecond, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000.0;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Take a token, reserving a future one when empty
+     *
+     * @return nanoseconds the caller must wait before using the token (0 when available now)
+     */
+    public synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
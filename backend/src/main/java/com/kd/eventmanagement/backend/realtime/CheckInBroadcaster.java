@@ -0,0 +1,200 @@
+package com.kd.eventmanagement.backend.realtime;
+
+import com.kd.eventmanagement.backend.cache.EventCounterRegistry;
+import com.kd.eventmanagement.backend.common.util.AfterCommit;
+import com.kd.eventmanagement.backend.dto.respone.CheckInNotification;
+import com.kd.eventmanagement.backend.dto.respone.EventStatsUpdate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-event Server-Sent Events channel for gates and admin dashboards.
+ * <ul>
+ *     <li>"checkin": every successful check-in, published after the check-in commits</li>
+ *     <li>"stats": attendee / checked-in counters from {@link EventCounterRegistry}, sent at a fixed cadence
+ *     and only when they changed, so a burst of scans costs one message per interval</li>
+ * </ul>
+ * Every subscriber has its own bounded queue drained by its own virtual thread: the check-in path only
+ * enqueues, a slow client only ever delays itself, and when it falls too far behind its messages are
+ * dropped rather than slowing scans or other subscribers down.
+ */
+@Slf4j
+@Component
+public class CheckInBroadcaster {
+
+    private final EventCounterRegistry eventCounterRegistry;
+    private final long emitterTimeoutMillis;
+    private final int subscriberQueueCapacity;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, EventStatsUpdate> lastStats = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CheckInBroadcaster(EventCounterRegistry eventCounterRegistry,
+                              @Value("${app.realtime.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                              @Value("${app.realtime.subscriber-queue-capacity:256}") int subscriberQueueCapacity) {
+        this.eventCounterRegistry = eventCounterRegistry;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+    }
+
+    public SseEmitter subscribe(Long eventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(eventId, emitter);
+        Set<Subscriber> eventSubscribers = subscribers.compute(eventId, (id, current) -> {
+            Set<Subscriber> set = current != null ? current : new CopyOnWriteArraySet<>();
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        // Current numbers straight away so a dashboard never starts blank
+        subscriber.offer(new Message("stats", currentStats(eventId)));
+        log.info("SSE subscriber added for event {} ({} connected)", eventId, eventSubscribers.size());
+        return emitter;
+    }
+
+    public void checkedIn(Long eventId, String ticketNo, String attendeeName, String staffUser, OffsetDateTime checkedInAt) {
+        AfterCommit.run(() -> {
+            Set<Subscriber> eventSubscribers = subscribers.get(eventId);
+            if (eventSubscribers == null || eventSubscribers.isEmpty()) {
+                return;
+            }
+            Message message = new Message("checkin", new CheckInNotification(ticketNo, attendeeName, staffUser, checkedInAt));
+            eventSubscribers.forEach(subscriber -> subscriber.offer(message));
+        });
+    }
+
+    @Scheduled(fixedRateString = "${app.realtime.stats-interval-ms:1000}")
+    public void publishStats() {
+        for (Map.Entry<Long, Set<Subscriber>> entry : subscribers.entrySet()) {
+            Long eventId = entry.getKey();
+            Set<Subscriber> eventSubscribers = entry.getValue();
+            if (eventSubscribers.isEmpty()) {
+                continue;
+            }
+            EventStatsUpdate stats = currentStats(eventId);
+            if (stats.equals(lastStats.put(eventId, stats))) {
+                continue;
+            }
+            Message message = new Message("stats", stats);
+            eventSubscribers.forEach(subscriber -> subscriber.offer(message));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.realtime.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        // Comment lines keep idle connections open through proxies and surface dead clients
+        subscribers.values().forEach(eventSubscribers -> eventSubscribers.forEach(subscriber -> subscriber.offer(Message.PING)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(eventSubscribers -> eventSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private EventStatsUpdate currentStats(Long eventId) {
+        long attendees = eventCounterRegistry.attendeeCount(eventId);
+        long checkedIn = eventCounterRegistry.checkedInCount(eventId);
+        double percentage = attendees > 0 ? (checkedIn * 100.0 / attendees) : 0.0;
+        return new EventStatsUpdate(attendees, checkedIn, percentage);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.eventId, (id, eventSubscribers) -> {
+            eventSubscribers.remove(subscriber);
+            if (eventSubscribers.isEmpty()) {
+                lastStats.remove(id);
+                return null;
+            }
+            return eventSubscribers;
+        });
+    }
+
+    /**
+     * SSE message; a null name is sent as a comment line
+     */
+    private record Message(String name, Object data) {
+        static final Message PING = new Message(null, "ping");
+    }
+
+    /**
+     * One connected client: a bounded queue and at most one drain task at a time
+     */
+    private final class Subscriber {
+
+        private final Long eventId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue = new ArrayBlockingQueue<>(subscriberQueueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+        }
+
+        void offer(Message message) {
+            if (!queue.offer(message)) {
+                log.debug("SSE subscriber for event {} is behind, dropping {} message", eventId, message.name());
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = queue.poll()) != null) {
+                    emitter.send(message.name() == null
+                            ? SseEmitter.event().comment(message.data().toString())
+                            : SseEmitter.event().name(message.name()).data(message.data(), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping SSE subscriber for event {}: {}", eventId, e.getMessage());
+                queue.clear();
+                unsubscribe(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // A message offered after the last poll but before the flag was cleared still gets sent
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
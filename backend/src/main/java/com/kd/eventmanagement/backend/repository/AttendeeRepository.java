@@ -2,11 +2,27 @@ package com.kd.eventmanagement.backend.repository;
 
 import com.kd.eventmanagement.backend.entity.Attendee;
 import com.kd.eventmanagement.backend.entity.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface AttendeeRepository extends JpaRepository<Attendee, UUID> {
     Optional<Attendee> findByEventAndTelegramUserId(Event event, Long telegramUserId);
+
+    long countByEventId(Long eventId);
+
+    /**
+     * Keyset page of recipient ids, served by the (event_id, telegramUserId) unique index
+     */
+    @Query("""
+            select a.telegramUserId from Attendee a
+            where a.event.id = :eventId and a.telegramUserId > :after
+            order by a.telegramUserId
+            """)
+    List<Long> findTelegramUserIdsAfter(@Param("eventId") Long eventId, @Param("after") Long after, Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package com.kd.eventmanagement.backend.repository;
+
+import com.kd.eventmanagement.backend.entity.BroadcastFailure;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BroadcastFailureRepository extends JpaRepository<BroadcastFailure, Long> {
+    Page<BroadcastFailure> findByBroadcastId(Long broadcastId, Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.kd.eventmanagement.backend.repository;
+
+import com.kd.eventmanagement.backend.entity.Broadcast;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface BroadcastRepository extends JpaRepository<Broadcast, Long> {
+    /**
+     * Row lock so a cancel and a runner checkpoint never overwrite each other's columns
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Broadcast b where b.id = :id")
+    Optional<Broadcast> lockById(@Param("id") Long id);
+
+    /**
+     * Running broadcasts nobody holds a live lease on, row-locked; rows another instance is
+     * claiming at the same moment are skipped rather than waited on
+     */
+    @Query(value = """
+            select * from broadcasts
+            where status = 'RUNNING' and (lease_until is null or lease_until <= :now)
+            order by id
+            for update skip locked
+            """, nativeQuery = true)
+    List<Broadcast> lockResumable(@Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("update Broadcast b set b.leaseOwner = null, b.leaseUntil = null where b.leaseOwner = :owner")
+    int releaseLeases(@Param("owner") String owner);
+}
@@ -1,18 +1,72 @@
 package com.kd.eventmanagement.backend.repository;
 
 import com.kd.eventmanagement.backend.entity.Event;
+import com.kd.eventmanagement.backend.repository.projection.EventSearchView;
+import com.kd.eventmanagement.backend.repository.projection.EventStatsView;
+import com.kd.eventmanagement.backend.repository.projection.EventSummaryView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
     Optional<Event> findByCode(String code);
+
+    @Query("select e.id from Event e where e.code = :code")
+    Optional<Long> findIdByCode(@Param("code") String code);
     boolean existsByCode(String code);
+
+    Optional<Event> findByHashId(String hashId);
+
+    @Query("select e.id from Event e where e.hashId = :hashId")
+    Optional<Long> findIdByHashId(@Param("hashId") String hashId);
+
+    // Hash id backfill: rows created before the column existed, in primary key order
+    @Query("select e.id from Event e where e.hashId is null and e.id > :after order by e.id")
+    List<Long> findIdsWithoutHashId(@Param("after") Long after, Pageable pageable);
+
+    // Native so the version is left alone (the public representation does not change) and so it can
+    // write the column the entity maps as not updatable
+    @Modifying
+    @Query(value = "update events set hash_id = :hashId where id = :id and hash_id is null", nativeQuery = true)
+    int assignHashId(@Param("id") Long id, @Param("hashId") String hashId);
     
     // Pagination and search/filter methods
     Page<Event> findByTitleContainingIgnoreCase(String title, Pageable pageable);
     Page<Event> findByStatus(Event.EventStatus status, Pageable pageable);
     Page<Event> findByTitleContainingIgnoreCaseAndStatus(String title, Event.EventStatus status, Pageable pageable);
+
+    // Events whose gate window overlaps [now, now + warmup]
+    List<Event> findByStartAtLessThanEqualAndEndAtGreaterThanEqual(OffsetDateTime startsBefore, OffsetDateTime endsAfter);
+
+    // Stats: event metadata plus both counts in a single round trip
+    Optional<EventSummaryView> findSummaryById(Long id);
+
+    @Query("""
+            select e.id as id, e.code as code, e.title as title,
+                   (select count(a) from Attendee a where a.event.id = e.id) as attendeeCount,
+                   (select count(t) from Ticket t where t.event.id = e.id and t.checkedInAt is not null) as checkedInCount
+            from Event e
+            where e.id = :id
+            """)
+    Optional<EventStatsView> findStatsById(@Param("id") Long id);
+
+    // Search index: the indexed columns only, walked in primary key order
+    @Query("""
+            select e.id as id, e.title as title, e.description as description,
+                   e.location as location, e.status as status
+            from Event e
+            where e.id > :after
+            order by e.id
+            """)
+    List<EventSearchView> findSearchPage(@Param("after") Long after, Pageable pageable);
+
+    Optional<EventSearchView> findSearchViewById(Long id);
 }
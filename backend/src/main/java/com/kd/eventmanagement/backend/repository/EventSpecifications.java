@@ -0,0 +1,21 @@
+package com.kd.eventmanagement.backend.repository;
+
+import com.kd.eventmanagement.backend.entity.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Listing filters, combined by the service for whichever parameters were given
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> titleContains(String title) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), "%" + title.toLowerCase() + "%");
+    }
+
+    public static Specification<Event> hasStatus(Event.EventStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+}
@@ -0,0 +1,32 @@
+package com.kd.eventmanagement.backend.repository;
+
+import com.kd.eventmanagement.backend.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Due messages plus in-flight ones whose lease has expired, row-locked; rows locked by another
+     * dispatcher instance are skipped rather than waited on
+     */
+    @Query(value = """
+            select * from notification_outbox
+            where (status = 'PENDING' and next_attempt_at <= :now)
+               or (status = 'IN_FLIGHT' and lease_until <= :now)
+            order by next_attempt_at
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<NotificationOutbox> lockClaimable(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from NotificationOutbox n where n.status = :status and n.createdAt < :before")
+    int deleteByStatusAndCreatedAtBefore(@Param("status") NotificationOutbox.OutboxStatus status,
+                                         @Param("before") OffsetDateTime before);
+}
@@ -0,0 +1,84 @@
+package com.kd.eventmanagement.backend.repository;
+
+import com.kd.eventmanagement.backend.entity.Ticket;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Check-in write paths for {@link TicketRepository} that need plain SQL (conditional UPDATE ... RETURNING)
+ */
+public interface TicketCheckInRepository {
+
+    /**
+     * Atomically check in a ticket in a single statement.
+     * The row is only updated when the ticket is ACTIVE, not yet checked in, belongs to the given event
+     * and the check-in time falls inside the event window, so two gates scanning the same QR at the same
+     * moment can never both succeed.
+     *
+     * @return the checked-in ticket, or empty when any of the conditions did not hold
+     */
+    Optional<CheckedInTicket> checkInIfEligible(UUID ticketId, String eventCode, String checkedInBy, OffsetDateTime checkedInAt);
+
+    /**
+     * Same as {@link #checkInIfEligible(UUID, String, String, OffsetDateTime)} for payloads that identify the event by id
+     */
+    Optional<CheckedInTicket> checkInIfEligible(UUID ticketId, Long eventId, String checkedInBy, OffsetDateTime checkedInAt);
+
+    /**
+     * Apply check-ins that were already accepted in memory. Each row keeps the checked_in_at IS NULL guard.
+     *
+     * @return per check-in update counts; 0 means the ticket had already been checked in elsewhere
+     */
+    int[] markCheckedIn(List<PendingCheckIn> checkIns);
+
+    /**
+     * Load and row-lock (SELECT ... FOR UPDATE) the given tickets with their attendee and event, in chunks.
+     * Must run inside a transaction; tickets that do not exist are simply absent from the result.
+     */
+    Map<UUID, LockedTicket> lockForCheckIn(Collection<UUID> ticketIds);
+
+    /**
+     * Apply check-ins where the earliest scan wins: a row is written when it has no check-in yet
+     * or its recorded check-in is later than the given one.
+     *
+     * @return per check-in update counts
+     */
+    int[] applyEarliestCheckIn(List<PendingCheckIn> checkIns);
+
+    /**
+     * Stream the gate-relevant state of every ticket of an event without hydrating entities
+     */
+    void forEachTicket(Long eventId, Consumer<TicketState> consumer);
+
+    /**
+     * One keyset page of id, status and checked-in flag of an event's tickets ordered by id, optionally
+     * only those changed after the given time. Each page is its own short query, so no connection is
+     * held between pages.
+     *
+     * @param after last ticket id of the previous page, or null for the first page
+     */
+    List<BundleTicket> findBundlePage(Long eventId, OffsetDateTime changedSince, UUID after, int limit);
+
+    /**
+     * Database clock (transaction start time); ticket updated_at values written from SQL use the same clock
+     */
+    OffsetDateTime databaseNow();
+
+    record CheckedInTicket(Long eventId, String ticketNo, String attendeeName) {}
+
+    record PendingCheckIn(UUID ticketId, String checkedInBy, OffsetDateTime checkedInAt) {}
+
+    record LockedTicket(UUID ticketId, String ticketNo, Ticket.TicketStatus status, OffsetDateTime checkedInAt,
+                        String attendeeName, Long eventId, String eventCode,
+                        OffsetDateTime startAt, OffsetDateTime endAt) {}
+
+    record BundleTicket(UUID ticketId, Ticket.TicketStatus status, boolean checkedIn) {}
+
+    record TicketState(UUID ticketId, String ticketNo, String attendeeName, Ticket.TicketStatus status, OffsetDateTime checkedInAt) {}
+}
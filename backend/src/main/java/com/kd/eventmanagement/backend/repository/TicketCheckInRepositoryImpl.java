@@ -0,0 +1,197 @@
+package com.kd.eventmanagement.backend.repository;
+
+import com.kd.eventmanagement.backend.entity.Ticket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class TicketCheckInRepositoryImpl implements TicketCheckInRepository {
+
+    private static final String CHECK_IN_SQL_TEMPLATE = """
+            update tickets t
+               set checked_in_at = :checkedInAt,
+                   checked_in_by = :checkedInBy,
+                   updated_at = now()
+              from attendees a, events e
+             where t.id = :ticketId
+               and t.checked_in_at is null
+               and t.status = 'ACTIVE'
+               and a.id = t.attendee_id
+               and e.id = t.event_id
+               and %s
+               and :checkedInAt between e.start_at and e.end_at
+            returning t.event_id, t.ticket_no, a.full_name
+            """;
+
+    private static final String CHECK_IN_BY_CODE_SQL = CHECK_IN_SQL_TEMPLATE.formatted("e.code = :eventCode");
+    private static final String CHECK_IN_BY_EVENT_ID_SQL = CHECK_IN_SQL_TEMPLATE.formatted("e.id = :eventId");
+
+    private static final String MARK_CHECKED_IN_SQL = """
+            update tickets
+               set checked_in_at = :checkedInAt,
+                   checked_in_by = :checkedInBy,
+                   updated_at = now()
+             where id = :ticketId
+               and checked_in_at is null
+            """;
+
+    private static final String EARLIEST_CHECK_IN_SQL = """
+            update tickets
+               set checked_in_at = :checkedInAt,
+                   checked_in_by = :checkedInBy,
+                   updated_at = now()
+             where id = :ticketId
+               and (checked_in_at is null or checked_in_at > :checkedInAt)
+            """;
+
+    private static final String LOCK_FOR_CHECK_IN_SQL = """
+            select t.id, t.ticket_no, t.status, t.checked_in_at, a.full_name,
+                   e.id as event_id, e.code as event_code, e.start_at, e.end_at
+              from tickets t
+              join attendees a on a.id = t.attendee_id
+              join events e on e.id = t.event_id
+             where t.id in (:ticketIds)
+               for update of t
+            """;
+
+    // Keeps each IN list well below the driver's bind parameter limit
+    private static final int LOCK_CHUNK_SIZE = 1000;
+
+    private static final String TICKET_STATE_SQL = """
+            select t.id, t.ticket_no, t.status, t.checked_in_at, a.full_name
+              from tickets t
+              join attendees a on a.id = t.attendee_id
+             where t.event_id = :eventId
+            """;
+
+    private static final String BUNDLE_PAGE_SQL_TEMPLATE = """
+            select id, status, checked_in_at is not null as checked_in
+              from tickets
+             where event_id = :eventId%s%s
+             order by id
+             limit :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<CheckedInTicket> checkInIfEligible(UUID ticketId, String eventCode, String checkedInBy, OffsetDateTime checkedInAt) {
+        return checkIn(CHECK_IN_BY_CODE_SQL, new MapSqlParameterSource()
+                .addValue("ticketId", ticketId)
+                .addValue("eventCode", eventCode)
+                .addValue("checkedInBy", checkedInBy)
+                .addValue("checkedInAt", checkedInAt));
+    }
+
+    @Override
+    public Optional<CheckedInTicket> checkInIfEligible(UUID ticketId, Long eventId, String checkedInBy, OffsetDateTime checkedInAt) {
+        return checkIn(CHECK_IN_BY_EVENT_ID_SQL, new MapSqlParameterSource()
+                .addValue("ticketId", ticketId)
+                .addValue("eventId", eventId)
+                .addValue("checkedInBy", checkedInBy)
+                .addValue("checkedInAt", checkedInAt));
+    }
+
+    private Optional<CheckedInTicket> checkIn(String sql, MapSqlParameterSource params) {
+        List<CheckedInTicket> rows = jdbcTemplate.query(sql, params, (rs, rowNum) -> new CheckedInTicket(
+                rs.getLong("event_id"),
+                rs.getString("ticket_no"),
+                rs.getString("full_name")
+        ));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public int[] markCheckedIn(List<PendingCheckIn> checkIns) {
+        return jdbcTemplate.batchUpdate(MARK_CHECKED_IN_SQL, toBatch(checkIns));
+    }
+
+    @Override
+    public Map<UUID, LockedTicket> lockForCheckIn(Collection<UUID> ticketIds) {
+        List<UUID> ids = new ArrayList<>(ticketIds);
+        // Lock in a stable order so two overlapping batches cannot deadlock each other
+        ids.sort(null);
+
+        Map<UUID, LockedTicket> locked = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += LOCK_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + LOCK_CHUNK_SIZE, ids.size()));
+            jdbcTemplate.query(LOCK_FOR_CHECK_IN_SQL, new MapSqlParameterSource("ticketIds", chunk), rs -> {
+                UUID id = rs.getObject("id", UUID.class);
+                locked.put(id, new LockedTicket(
+                        id,
+                        rs.getString("ticket_no"),
+                        Ticket.TicketStatus.valueOf(rs.getString("status")),
+                        rs.getObject("checked_in_at", OffsetDateTime.class),
+                        rs.getString("full_name"),
+                        rs.getLong("event_id"),
+                        rs.getString("event_code"),
+                        rs.getObject("start_at", OffsetDateTime.class),
+                        rs.getObject("end_at", OffsetDateTime.class)
+                ));
+            });
+        }
+        return locked;
+    }
+
+    @Override
+    public int[] applyEarliestCheckIn(List<PendingCheckIn> checkIns) {
+        return jdbcTemplate.batchUpdate(EARLIEST_CHECK_IN_SQL, toBatch(checkIns));
+    }
+
+    @Override
+    public void forEachTicket(Long eventId, Consumer<TicketState> consumer) {
+        jdbcTemplate.query(TICKET_STATE_SQL, new MapSqlParameterSource("eventId", eventId), rs -> {
+            consumer.accept(new TicketState(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("ticket_no"),
+                    rs.getString("full_name"),
+                    Ticket.TicketStatus.valueOf(rs.getString("status")),
+                    rs.getObject("checked_in_at", OffsetDateTime.class)
+            ));
+        });
+    }
+
+    @Override
+    public List<BundleTicket> findBundlePage(Long eventId, OffsetDateTime changedSince, UUID after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("eventId", eventId)
+                .addValue("after", after)
+                .addValue("changedSince", changedSince)
+                .addValue("limit", limit);
+        // Conditions are left out rather than null-guarded so the planner always sees a plain keyset scan
+        String sql = BUNDLE_PAGE_SQL_TEMPLATE.formatted(
+                after != null ? " and id > :after" : "",
+                changedSince != null ? " and updated_at > :changedSince" : "");
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new BundleTicket(
+                rs.getObject("id", UUID.class),
+                Ticket.TicketStatus.valueOf(rs.getString("status")),
+                rs.getBoolean("checked_in")
+        ));
+    }
+
+    @Override
+    public OffsetDateTime databaseNow() {
+        return jdbcTemplate.getJdbcOperations().queryForObject("select now()", OffsetDateTime.class);
+    }
+
+    private static SqlParameterSource[] toBatch(List<PendingCheckIn> checkIns) {
+        return checkIns.stream()
+                .map(c -> new MapSqlParameterSource()
+                        .addValue("ticketId", c.ticketId())
+                        .addValue("checkedInBy", c.checkedInBy())
+                        .addValue("checkedInAt", c.checkedInAt()))
+                .toArray(SqlParameterSource[]::new);
+    }
+}
@@ -1,10 +1,26 @@
 package com.kd.eventmanagement.backend.repository;
 import com.kd.eventmanagement.backend.entity.Ticket;
+import com.kd.eventmanagement.backend.repository.projection.TicketCheckInView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
 
-public interface TicketRepository extends JpaRepository<Ticket, UUID> {
+public interface TicketRepository extends JpaRepository<Ticket, UUID>, TicketCheckInRepository {
     Optional<Ticket> findById(UUID id);
+
+    long countByEventIdAndCheckedInAtIsNotNull(Long eventId);
+
+    long countByEventId(Long eventId);
+
+    // Used to explain why a conditional check-in did not update the ticket
+    @Query("""
+            select t.ticketNo as ticketNo, t.status as status, t.checkedInAt as checkedInAt,
+                   a.fullName as attendeeName, e.id as eventId, e.code as eventCode, e.startAt as startAt, e.endAt as endAt
+            from Ticket t join t.attendee a join t.event e
+            where t.id = :id
+            """)
+    Optional<TicketCheckInView> findCheckInViewById(@Param("id") UUID id);
 }
@@ -0,0 +1,11 @@
+package com.kd.eventmanagement.backend.repository.projection;
+
+import com.kd.eventmanagement.backend.entity.Event;
+
+public interface EventSearchView {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    String getLocation();
+    Event.EventStatus getStatus();
+}
@@ -0,0 +1,6 @@
+package com.kd.eventmanagement.backend.repository.projection;
+
+public interface EventStatsView extends EventSummaryView {
+    long getAttendeeCount();
+    long getCheckedInCount();
+}
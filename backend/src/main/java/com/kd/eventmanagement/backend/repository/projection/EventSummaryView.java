@@ -0,0 +1,7 @@
+package com.kd.eventmanagement.backend.repository.projection;
+
+public interface EventSummaryView {
+    Long getId();
+    String getCode();
+    String getTitle();
+}
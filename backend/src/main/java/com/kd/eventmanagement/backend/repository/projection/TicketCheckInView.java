@@ -0,0 +1,16 @@
+package com.kd.eventmanagement.backend.repository.projection;
+
+import com.kd.eventmanagement.backend.entity.Ticket;
+
+import java.time.OffsetDateTime;
+
+public interface TicketCheckInView {
+    String getTicketNo();
+    Ticket.TicketStatus getStatus();
+    OffsetDateTime getCheckedInAt();
+    String getAttendeeName();
+    Long getEventId();
+    String getEventCode();
+    OffsetDateTime getStartAt();
+    OffsetDateTime getEndAt();
+}
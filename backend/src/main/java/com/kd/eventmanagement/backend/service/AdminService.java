@@ -1,7 +1,9 @@
 package com.kd.eventmanagement.backend.service;
 
 import com.kd.eventmanagement.backend.dto.respone.EventResponse;
+import com.kd.eventmanagement.backend.dto.respone.EventStatsResponse;
 import com.kd.eventmanagement.backend.entity.Event;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -11,4 +13,6 @@ public interface AdminService {
     void deleteEvent(String hashId);
     long getAttendeeCount(String hashId);
     long getCheckedInCount(String hashId);
+    EventStatsResponse getEventStats(String hashId);
+    SseEmitter subscribeEventStream(String hashId);
 }
@@ -0,0 +1,12 @@
+package com.kd.eventmanagement.backend.service;
+
+import com.kd.eventmanagement.backend.dto.respone.BroadcastFailureResponse;
+import com.kd.eventmanagement.backend.dto.respone.BroadcastResponse;
+import org.springframework.data.domain.Page;
+
+public interface BroadcastService {
+    BroadcastResponse createBroadcast(String eventHashId, String message, String createdBy);
+    BroadcastResponse getBroadcast(String hashId);
+    BroadcastResponse cancelBroadcast(String hashId);
+    Page<BroadcastFailureResponse> getFailures(String hashId, int page, int size);
+}
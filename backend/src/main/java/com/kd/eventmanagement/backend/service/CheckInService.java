@@ -1,7 +1,17 @@
 package com.kd.eventmanagement.backend.service;
 
+import com.kd.eventmanagement.backend.dto.request.BatchCheckInRequest;
+import com.kd.eventmanagement.backend.dto.respone.BatchCheckInResponse;
 import com.kd.eventmanagement.backend.dto.respone.CheckInResponse;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
 public interface CheckInService {
     CheckInResponse checkIn(String qrPayload, String staffUser);
+
+    BatchCheckInResponse checkInBatch(List<BatchCheckInRequest.Scan> scans, String staffUser);
+
+    SseEmitter subscribe(String eventCode);
 }
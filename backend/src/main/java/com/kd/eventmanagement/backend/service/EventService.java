@@ -1,14 +1,19 @@
 package com.kd.eventmanagement.backend.service;
 
 import com.kd.eventmanagement.backend.dto.request.CreateEventRequest;
+import com.kd.eventmanagement.backend.dto.respone.CursorPage;
 import com.kd.eventmanagement.backend.dto.respone.EventResponse;
 import com.kd.eventmanagement.backend.entity.Event;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface EventService {
     EventResponse createEvent(CreateEventRequest req);
     EventResponse getByCode(String code);
     Page<EventResponse> getAllEvents(int page, int size, String title, Event.EventStatus status);
+    CursorPage<EventResponse> getEventsAfter(String cursor, int size, String title, Event.EventStatus status, boolean includeTotal);
+    List<EventResponse> searchEvents(String query, Event.EventStatus status, int limit);
     EventResponse updateEvent(String codeOrHash, CreateEventRequest req);
     void deleteEvent(String codeOrHash);
 
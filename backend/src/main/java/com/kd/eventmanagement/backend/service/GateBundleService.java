@@ -0,0 +1,10 @@
+package com.kd.eventmanagement.backend.service;
+
+import com.kd.eventmanagement.backend.dto.respone.GateBundleKeyResponse;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface GateBundleService {
+    StreamingResponseBody fullBundle(String eventCode);
+    StreamingResponseBody deltaBundle(String eventCode, long since);
+    GateBundleKeyResponse signingKey();
+}
@@ -1,20 +1,26 @@
 package com.kd.eventmanagement.backend.service.impl;
 
+import com.kd.eventmanagement.backend.cache.EventCounterRegistry;
 import com.kd.eventmanagement.backend.dto.respone.EventResponse;
+import com.kd.eventmanagement.backend.dto.respone.EventStatsResponse;
 import com.kd.eventmanagement.backend.entity.Event;
 import com.kd.eventmanagement.backend.common.enums.ErrorCode;
+import com.kd.eventmanagement.backend.common.event.EventChangedEvent;
 import com.kd.eventmanagement.backend.common.exception.BusinessException;
 import com.kd.eventmanagement.backend.common.exception.ResourceNotFoundException;
 import com.kd.eventmanagement.backend.common.helper.HashidsHelper;
 import com.kd.eventmanagement.backend.common.mapper.EventMapper;
-import com.kd.eventmanagement.backend.repository.AttendeeRepository;
+import com.kd.eventmanagement.backend.realtime.CheckInBroadcaster;
 import com.kd.eventmanagement.backend.repository.EventRepository;
-import com.kd.eventmanagement.backend.repository.TicketRepository;
+import com.kd.eventmanagement.backend.repository.projection.EventStatsView;
+import com.kd.eventmanagement.backend.repository.projection.EventSummaryView;
 import com.kd.eventmanagement.backend.service.AdminService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -25,10 +31,11 @@ import java.util.stream.Collectors;
 public class AdminServiceImpl implements AdminService {
 
     private final EventRepository eventRepository;
-    private final AttendeeRepository attendeeRepository;
-    private final TicketRepository ticketRepository;
     private final EventMapper eventMapper;
     private final HashidsHelper hashidsHelper;
+    private final EventCounterRegistry eventCounterRegistry;
+    private final CheckInBroadcaster checkInBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -45,21 +52,17 @@ public class AdminServiceImpl implements AdminService {
     @Transactional
     public EventResponse updateEventStatus(String hashId, Event.EventStatus status) {
         log.info("Updating event {} status to {}", hashId, status);
-        
-        Long eventId = hashidsHelper.decodeLong(hashId);
-        if (eventId == null) {
-            log.error("Invalid hashId: {}", hashId);
-            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid event ID");
-        }
-        
-        Event event = eventRepository.findById(eventId)
+
+        Event event = eventRepository.findByHashId(hashId)
+                .or(() -> eventRepository.findById(decodeEventId(hashId)))
                 .orElseThrow(() -> {
-                    log.error("Event not found with id: {}", eventId);
+                    log.error("Event not found with hashId: {}", hashId);
                     return new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + hashId);
                 });
         
         event.setStatus(status);
         Event updated = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(updated.getId(), updated.getCode(), EventChangedEvent.Change.STATUS_CHANGED));
         log.info("Event status updated successfully for event: {}", hashId);
         return eventMapper.toResponse(updated);
     }
@@ -68,53 +71,91 @@ public class AdminServiceImpl implements AdminService {
     @Transactional
     public void deleteEvent(String hashId) {
         log.warn("Deleting event with hashId: {}", hashId);
-        
-        Long eventId = hashidsHelper.decodeLong(hashId);
+
+        // The indexed lookup doubles as the existence check; decoding is only left for rows
+        // the hash id backfill has not reached yet
+        Long eventId = eventRepository.findIdByHashId(hashId).orElse(null);
         if (eventId == null) {
-            log.error("Invalid hashId: {}", hashId);
-            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid event ID");
-        }
-        
-        if (!eventRepository.existsById(eventId)) {
-            log.error("Event not found with id: {}", eventId);
-            throw new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + hashId);
+            eventId = decodeEventId(hashId);
+            if (!eventRepository.existsById(eventId)) {
+                log.error("Event not found with id: {}", eventId);
+                throw new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + hashId);
+            }
         }
         eventRepository.deleteById(eventId);
+        eventCounterRegistry.evict(eventId);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId, null, EventChangedEvent.Change.DELETED));
         log.info("Event deleted successfully: {}", hashId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getAttendeeCount(String hashId) {
-        Long eventId = hashidsHelper.decodeLong(hashId);
-        if (eventId == null) {
-            log.error("Invalid hashId: {}", hashId);
-            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid event ID");
-        }
-        
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + hashId));
-        
-        return attendeeRepository.findAll().stream()
-                .filter(a -> a.getEvent().getId().equals(event.getId()))
-                .count();
+        Long eventId = resolveTrackedEventId(hashId);
+        return eventCounterRegistry.attendeeCount(eventId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getCheckedInCount(String hashId) {
+        Long eventId = resolveTrackedEventId(hashId);
+        return eventCounterRegistry.checkedInCount(eventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventStatsResponse getEventStats(String hashId) {
+        Long eventId = decodeEventId(hashId);
+
+        String code;
+        String title;
+        long attendeeCount;
+        long checkedInCount;
+
+        if (eventCounterRegistry.isTracked(eventId)) {
+            EventSummaryView summary = eventRepository.findSummaryById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + hashId));
+            code = summary.getCode();
+            title = summary.getTitle();
+            attendeeCount = eventCounterRegistry.attendeeCount(eventId);
+            checkedInCount = eventCounterRegistry.checkedInCount(eventId);
+        } else {
+            EventStatsView stats = eventRepository.findStatsById(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + hashId));
+            eventCounterRegistry.seed(eventId, stats.getAttendeeCount(), stats.getCheckedInCount());
+            code = stats.getCode();
+            title = stats.getTitle();
+            attendeeCount = stats.getAttendeeCount();
+            checkedInCount = stats.getCheckedInCount();
+        }
+
+        double percentage = attendeeCount > 0 ? (checkedInCount * 100.0 / attendeeCount) : 0.0;
+        return new EventStatsResponse(hashId, code, title, attendeeCount, checkedInCount, percentage);
+    }
+
+    @Override
+    public SseEmitter subscribeEventStream(String hashId) {
+        return checkInBroadcaster.subscribe(resolveTrackedEventId(hashId));
+    }
+
+    /**
+     * Decode the hashId and make sure the event exists. Events already tracked by the
+     * counter registry skip the existence query; deletes evict them from the registry.
+     */
+    private Long resolveTrackedEventId(String hashId) {
+        Long eventId = decodeEventId(hashId);
+        if (!eventCounterRegistry.isTracked(eventId) && !eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + hashId);
+        }
+        return eventId;
+    }
+
+    private Long decodeEventId(String hashId) {
         Long eventId = hashidsHelper.decodeLong(hashId);
         if (eventId == null) {
             log.error("Invalid hashId: {}", hashId);
             throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid event ID");
         }
-        
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + hashId));
-        
-        return ticketRepository.findAll().stream()
-                .filter(t -> t.getEvent().getId().equals(event.getId()))
-                .filter(t -> t.getCheckedInAt() != null)
-                .count();
+        return eventId;
     }
 }
@@ -6,11 +6,11 @@ import com.kd.eventmanagement.backend.entity.Role;
 import com.kd.eventmanagement.backend.entity.User;
 import com.kd.eventmanagement.backend.repository.UserRepository;
 import com.kd.eventmanagement.backend.service.AuthService;
+import com.kd.eventmanagement.backend.common.helper.PasswordVerifier;
 import com.kd.eventmanagement.backend.common.util.AppLogger;
 import com.kd.eventmanagement.backend.common.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.stream.Collectors;
@@ -21,7 +21,7 @@ public class AuthServiceImpl implements AuthService {
 
     private static final AppLogger log = AppLogger.getLogger(AuthServiceImpl.class);
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
     private final JwtUtil jwtUtil;
 
     @Override
@@ -39,7 +39,7 @@ public class AuthServiceImpl implements AuthService {
             throw new BadCredentialsException("User account is disabled");
         }
 
-        if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (!passwordVerifier.matches(request.password(), user.getPassword())) {
             log.warn("Failed login attempt with incorrect password for username: {}", request.username());
             throw new BadCredentialsException("Invalid username or password");
         }
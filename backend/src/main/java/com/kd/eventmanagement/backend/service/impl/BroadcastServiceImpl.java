@@ -0,0 +1,124 @@
+package com.kd.eventmanagement.backend.service.impl;
+
+import com.kd.eventmanagement.backend.common.enums.ErrorCode;
+import com.kd.eventmanagement.backend.common.exception.BusinessException;
+import com.kd.eventmanagement.backend.common.exception.ResourceNotFoundException;
+import com.kd.eventmanagement.backend.common.helper.HashidsHelper;
+import com.kd.eventmanagement.backend.dto.respone.BroadcastFailureResponse;
+import com.kd.eventmanagement.backend.dto.respone.BroadcastResponse;
+import com.kd.eventmanagement.backend.entity.Broadcast;
+import com.kd.eventmanagement.backend.entity.Event;
+import com.kd.eventmanagement.backend.integration.telegram.BroadcastRunner;
+import com.kd.eventmanagement.backend.repository.AttendeeRepository;
+import com.kd.eventmanagement.backend.repository.BroadcastFailureRepository;
+import com.kd.eventmanagement.backend.repository.BroadcastRepository;
+import com.kd.eventmanagement.backend.repository.EventRepository;
+import com.kd.eventmanagement.backend.service.BroadcastService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastServiceImpl implements BroadcastService {
+
+    private final BroadcastRepository broadcastRepository;
+    private final BroadcastFailureRepository broadcastFailureRepository;
+    private final EventRepository eventRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final BroadcastRunner broadcastRunner;
+    private final HashidsHelper hashidsHelper;
+
+    @Override
+    @Transactional
+    public BroadcastResponse createBroadcast(String eventHashId, String message, String createdBy) {
+        Long eventId = hashidsHelper.decodeLong(eventHashId);
+        if (eventId == null) {
+            log.error("Invalid hashId: {}", eventHashId);
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid event ID");
+        }
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found with id: " + eventHashId));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        Broadcast broadcast = broadcastRepository.save(Broadcast.builder()
+                .event(event)
+                .message(message)
+                .status(Broadcast.BroadcastStatus.RUNNING)
+                .totalRecipients(attendeeRepository.countByEventId(eventId))
+                .createdBy(createdBy)
+                .createdAt(now)
+                .startedAt(now)
+                .build());
+        broadcastRunner.start(broadcast.getId());
+
+        log.info("Broadcast {} to {} attendees of event {} queued by {}",
+                broadcast.getId(), broadcast.getTotalRecipients(), event.getCode(), createdBy);
+        return toResponse(broadcast);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BroadcastResponse getBroadcast(String hashId) {
+        return toResponse(findBroadcast(hashId));
+    }
+
+    @Override
+    @Transactional
+    public BroadcastResponse cancelBroadcast(String hashId) {
+        Broadcast broadcast = broadcastRepository.lockById(decodeBroadcastId(hashId))
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.BROADCAST_NOT_FOUND, "Broadcast not found with id: " + hashId));
+        if (broadcast.getStatus() != Broadcast.BroadcastStatus.RUNNING) {
+            throw new BusinessException(ErrorCode.BROADCAST_NOT_RUNNING,
+                    "Broadcast is already " + broadcast.getStatus().name().toLowerCase());
+        }
+        // The runner notices at its next page checkpoint
+        broadcast.setStatus(Broadcast.BroadcastStatus.CANCELLED);
+        broadcast.setCompletedAt(OffsetDateTime.now());
+        log.info("Broadcast {} cancelled", broadcast.getId());
+        return toResponse(broadcast);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BroadcastFailureResponse> getFailures(String hashId, int page, int size) {
+        Broadcast broadcast = findBroadcast(hashId);
+        return broadcastFailureRepository.findByBroadcastId(broadcast.getId(), PageRequest.of(page, size, Sort.by("id")))
+                .map(failure -> new BroadcastFailureResponse(failure.getTelegramUserId(), failure.getError(), failure.getCreatedAt()));
+    }
+
+    private Broadcast findBroadcast(String hashId) {
+        return broadcastRepository.findById(decodeBroadcastId(hashId))
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.BROADCAST_NOT_FOUND, "Broadcast not found with id: " + hashId));
+    }
+
+    private Long decodeBroadcastId(String hashId) {
+        Long broadcastId = hashidsHelper.decodeLong(hashId);
+        if (broadcastId == null) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid broadcast ID");
+        }
+        return broadcastId;
+    }
+
+    private BroadcastResponse toResponse(Broadcast broadcast) {
+        return new BroadcastResponse(
+                hashidsHelper.encode(broadcast.getId()),
+                hashidsHelper.encode(broadcast.getEvent().getId()),
+                broadcast.getMessage(),
+                broadcast.getStatus(),
+                broadcast.getTotalRecipients(),
+                broadcast.getSentCount(),
+                broadcast.getFailedCount(),
+                broadcast.getCreatedBy(),
+                broadcast.getCreatedAt(),
+                broadcast.getCompletedAt()
+        );
+    }
+}
@@ -1,24 +1,34 @@
 package com.kd.eventmanagement.backend.service.impl;
 
+import com.kd.eventmanagement.backend.cache.CheckInWriteBehind;
+import com.kd.eventmanagement.backend.cache.EventCounterRegistry;
+import com.kd.eventmanagement.backend.cache.GateTicketIndex;
+import com.kd.eventmanagement.backend.common.exception.BusinessException;
+import com.kd.eventmanagement.backend.dto.request.BatchCheckInRequest;
+import com.kd.eventmanagement.backend.dto.respone.BatchCheckInResponse;
 import com.kd.eventmanagement.backend.dto.respone.CheckInResponse;
 import com.kd.eventmanagement.backend.entity.Ticket;
+import com.kd.eventmanagement.backend.common.helper.QrPayloadHelper;
 import com.kd.eventmanagement.backend.common.enums.ErrorCode;
-import com.kd.eventmanagement.backend.common.exception.BusinessException;
+import com.kd.eventmanagement.backend.common.exception.ResourceNotFoundException;
 import com.kd.eventmanagement.backend.common.mapper.CheckInMapper;
+import com.kd.eventmanagement.backend.realtime.CheckInBroadcaster;
 import com.kd.eventmanagement.backend.repository.EventRepository;
+import com.kd.eventmanagement.backend.repository.TicketCheckInRepository;
 import com.kd.eventmanagement.backend.repository.TicketRepository;
+import com.kd.eventmanagement.backend.repository.projection.TicketCheckInView;
 import com.kd.eventmanagement.backend.service.CheckInService;
-import com.kd.eventmanagement.backend.common.util.QrSigner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -30,57 +40,253 @@ public class CheckInServiceImpl implements CheckInService {
     private final TicketRepository ticketRepository;
     private final EventRepository eventRepository;
     private final CheckInMapper checkInMapper;
-
-    @Value("${app.qr.secret:change-me}")
-    private String qrSecret;
+    private final QrPayloadHelper qrPayloadHelper;
+    private final EventCounterRegistry eventCounterRegistry;
+    private final GateTicketIndex gateTicketIndex;
+    private final CheckInWriteBehind checkInWriteBehind;
+    private final CheckInBroadcaster checkInBroadcaster;
 
     @Override
-    @Transactional
     public CheckInResponse checkIn(String qrPayload, String staffUser) {
         log.info("Check-in attempt by staff: {}", staffUser);
         log.debug("QR payload: {}", qrPayload);
-        Map<String, String> q = parseQuery(qrPayload);
-        String ticketIdStr = q.get("t");
-        String eventCode = q.get("e");
-        String ts = q.get("ts");
-        String sig = q.get("sig");
-
-        if (ticketIdStr == null || eventCode == null || ts == null || sig == null) {
-            log.error("Invalid QR payload: missing required parameters");
+        QrPayloadHelper.QrTicketRef ref = qrPayloadHelper.verify(qrPayload);
+        if (ref == null) {
             return checkInMapper.toErrorResponse("Invalid QR payload", null, null, null);
         }
 
-        String base = "t=" + ticketIdStr + "&e=" + eventCode + "&ts=" + ts;
-        String expectedSig = QrSigner.hmacSha256Hex(qrSecret, base);
-        if (!expectedSig.equalsIgnoreCase(sig)) {
-            log.warn("Invalid QR signature for ticket: {}", ticketIdStr);
-            throw new BusinessException(ErrorCode.INVALID_QR_CODE, "Invalid signature (fake QR)");
+        UUID ticketId = ref.ticketId();
+        if (ticketId == null) {
+            log.error("Invalid ticket UUID format in QR payload for event: {}", ref.eventCode());
+            return checkInMapper.toErrorResponse("Invalid ticket id", null, null, null);
         }
 
-        // Ensure event exists
-        var event = eventRepository.findByCode(eventCode)
-                .orElse(null);
-        if (event == null) {
-            log.error("Event not found: {}", eventCode);
-            return checkInMapper.toErrorResponse("Event not found", null, null, null);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        // Events inside their gate window are answered from memory; the DB write is batched
+        // v1 payloads name the event by code, v2 payloads by id
+        GateTicketIndex.EventTickets gate = ref.eventId() != null
+                ? gateTicketIndex.find(ref.eventId())
+                : gateTicketIndex.find(ref.eventCode());
+        if (gate != null) {
+            GateTicketIndex.TicketEntry entry = gate.ticket(ticketId);
+            if (entry != null) {
+                return checkInFromIndex(gate, ticketId, entry, staffUser, now);
+            }
         }
 
-        UUID ticketId;
-        try {
-            ticketId = UUID.fromString(ticketIdStr);
-        } catch (Exception ex) {
-            log.error("Invalid ticket UUID format: {}", ticketIdStr);
-            return checkInMapper.toErrorResponse("Invalid ticket id", null, null, null);
+        // Single conditional UPDATE: validates status, event, time window and duplicates atomically
+        var checkedIn = (ref.eventId() != null
+                ? ticketRepository.checkInIfEligible(ticketId, ref.eventId(), staffUser, now)
+                : ticketRepository.checkInIfEligible(ticketId, ref.eventCode(), staffUser, now)).orElse(null);
+        if (checkedIn == null) {
+            return rejectCheckIn(ref, now);
         }
 
-        Ticket ticket = ticketRepository.findById(ticketId).orElse(null);
+        eventCounterRegistry.ticketCheckedIn(checkedIn.eventId());
+        gateTicketIndex.ticketCheckedIn(checkedIn.eventId(), ticketId, checkedIn.ticketNo(), checkedIn.attendeeName(), now);
+        checkInBroadcaster.checkedIn(checkedIn.eventId(), checkedIn.ticketNo(), checkedIn.attendeeName(), staffUser, now);
+        log.info("Check-in successful for ticket: {} by staff: {}", checkedIn.ticketNo(), staffUser);
+        return checkInMapper.toSuccessResponse(checkedIn.attendeeName(), checkedIn.ticketNo(), now);
+    }
+
+    @Override
+    public SseEmitter subscribe(String eventCode) {
+        GateTicketIndex.EventTickets gate = gateTicketIndex.find(eventCode);
+        Long eventId = gate != null
+                ? gate.getEventId()
+                : eventRepository.findByCode(eventCode)
+                        .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found"))
+                        .getId();
+        return checkInBroadcaster.subscribe(eventId);
+    }
+
+    /**
+     * Replay scans queued by an offline gate. All tickets of the batch are row-locked up front in one
+     * pass, each ticket's scans are evaluated in scan-time order (earliest eligible scan wins, also against
+     * a later check-in already recorded by another gate) and the resulting writes go out as one JDBC batch.
+     */
+    @Override
+    @Transactional
+    public BatchCheckInResponse checkInBatch(List<BatchCheckInRequest.Scan> scans, String staffUser) {
+        log.info("Batch check-in of {} scans by staff: {}", scans.size(), staffUser);
+        OffsetDateTime now = OffsetDateTime.now();
+        CheckInResponse[] results = new CheckInResponse[scans.size()];
+        QrPayloadHelper.QrTicketRef[] refs = new QrPayloadHelper.QrTicketRef[scans.size()];
+        Map<UUID, List<Integer>> scansByTicket = new LinkedHashMap<>();
+
+        for (int i = 0; i < scans.size(); i++) {
+            QrPayloadHelper.QrTicketRef ref;
+            try {
+                ref = qrPayloadHelper.verify(scans.get(i).qrPayload());
+            } catch (BusinessException e) {
+                results[i] = checkInMapper.toErrorResponse(e.getMessage(), null, null, null);
+                continue;
+            }
+            if (ref == null) {
+                results[i] = checkInMapper.toErrorResponse("Invalid QR payload", null, null, null);
+            } else if (ref.ticketId() == null) {
+                results[i] = checkInMapper.toErrorResponse("Invalid ticket id", null, null, null);
+            } else {
+                refs[i] = ref;
+                scansByTicket.computeIfAbsent(ref.ticketId(), id -> new ArrayList<>(1)).add(i);
+            }
+        }
+
+        Map<UUID, TicketCheckInRepository.LockedTicket> tickets = scansByTicket.isEmpty()
+                ? Map.of()
+                : ticketRepository.lockForCheckIn(scansByTicket.keySet());
+
+        List<TicketCheckInRepository.PendingCheckIn> writes = new ArrayList<>();
+        for (Map.Entry<UUID, List<Integer>> byTicket : scansByTicket.entrySet()) {
+            TicketCheckInRepository.LockedTicket ticket = tickets.get(byTicket.getKey());
+            List<Integer> indexes = byTicket.getValue();
+            indexes.sort(Comparator.comparing(i -> scanTime(scans.get(i), now)));
+
+            OffsetDateTime recorded = ticket != null ? recordedCheckIn(ticket) : null;
+            OffsetDateTime accepted = null;
+            for (int i : indexes) {
+                OffsetDateTime at = scanTime(scans.get(i), now);
+                if (accepted != null) {
+                    results[i] = checkInMapper.toErrorResponse("Already checked-in",
+                            ticket.attendeeName(), ticket.ticketNo(), accepted);
+                    continue;
+                }
+                results[i] = evaluateScan(refs[i], ticket, recorded, at);
+                if (results[i].success()) {
+                    accepted = at;
+                }
+            }
+
+            if (accepted != null) {
+                writes.add(new TicketCheckInRepository.PendingCheckIn(ticket.ticketId(), staffUser, accepted));
+                if (recorded == null) {
+                    eventCounterRegistry.ticketCheckedIn(ticket.eventId());
+                    gateTicketIndex.ticketCheckedIn(ticket.eventId(), ticket.ticketId(), ticket.ticketNo(),
+                            ticket.attendeeName(), accepted);
+                    checkInBroadcaster.checkedIn(ticket.eventId(), ticket.ticketNo(), ticket.attendeeName(),
+                            staffUser, accepted);
+                }
+            }
+        }
+
+        if (!writes.isEmpty()) {
+            ticketRepository.applyEarliestCheckIn(writes);
+        }
+
+        List<BatchCheckInResponse.Item> items = new ArrayList<>(scans.size());
+        int succeeded = 0;
+        for (int i = 0; i < scans.size(); i++) {
+            if (results[i].success()) {
+                succeeded++;
+            }
+            items.add(checkInMapper.toBatchItem(scans.get(i).clientScanId(), results[i]));
+        }
+        log.info("Batch check-in by staff {}: {} of {} scans accepted", staffUser, succeeded, scans.size());
+        return new BatchCheckInResponse(scans.size(), succeeded, scans.size() - succeeded, items);
+    }
+
+    private CheckInResponse evaluateScan(QrPayloadHelper.QrTicketRef ref, TicketCheckInRepository.LockedTicket ticket,
+                                         OffsetDateTime recorded, OffsetDateTime at) {
         if (ticket == null) {
-            log.error("Ticket not found: {}", ticketId);
             return checkInMapper.toErrorResponse("Ticket not found", null, null, null);
         }
 
-        if (!ticket.getEvent().getCode().equals(eventCode)) {
-            log.warn("Ticket {} does not belong to event {}", ticketId, eventCode);
+        boolean sameEvent = ref.eventId() != null
+                ? ticket.eventId().equals(ref.eventId())
+                : ticket.eventCode().equals(ref.eventCode());
+        if (!sameEvent) {
+            return checkInMapper.toErrorResponse("Ticket does not belong to this event", null, null, null);
+        }
+
+        if (ticket.status() == Ticket.TicketStatus.REVOKED) {
+            return checkInMapper.toErrorResponse("Ticket revoked", null, ticket.ticketNo(), null);
+        }
+
+        if (at.isBefore(ticket.startAt()) || at.isAfter(ticket.endAt())) {
+            return checkInMapper.toErrorResponse("Event not active (outside time window)",
+                    ticket.attendeeName(), ticket.ticketNo(), null);
+        }
+
+        if (recorded != null && !recorded.isAfter(at)) {
+            return checkInMapper.toErrorResponse("Already checked-in", ticket.attendeeName(),
+                    ticket.ticketNo(), recorded);
+        }
+
+        return checkInMapper.toSuccessResponse(ticket.attendeeName(), ticket.ticketNo(), at);
+    }
+
+    /**
+     * Earliest check-in known for a ticket: the database row, or a gate-index claim whose write is still queued
+     */
+    private OffsetDateTime recordedCheckIn(TicketCheckInRepository.LockedTicket ticket) {
+        OffsetDateTime recorded = ticket.checkedInAt();
+        GateTicketIndex.EventTickets gate = gateTicketIndex.find(ticket.eventId());
+        GateTicketIndex.TicketEntry entry = gate != null ? gate.ticket(ticket.ticketId()) : null;
+        OffsetDateTime claimed = entry != null ? entry.getCheckedInAt() : null;
+        if (claimed != null && (recorded == null || claimed.isBefore(recorded))) {
+            return claimed;
+        }
+        return recorded;
+    }
+
+    /**
+     * Device clocks can run ahead; a scan can never have happened after it reached the server
+     */
+    private static OffsetDateTime scanTime(BatchCheckInRequest.Scan scan, OffsetDateTime now) {
+        return scan.scannedAt().isAfter(now) ? now : scan.scannedAt();
+    }
+
+    private CheckInResponse checkInFromIndex(GateTicketIndex.EventTickets gate, UUID ticketId,
+                                             GateTicketIndex.TicketEntry entry, String staffUser, OffsetDateTime now) {
+        if (entry.isRevoked()) {
+            log.warn("Attempted to check-in revoked ticket: {}", entry.getTicketNo());
+            return checkInMapper.toErrorResponse("Ticket revoked", null, entry.getTicketNo(), null);
+        }
+
+        if (now.isBefore(gate.getStartAt()) || now.isAfter(gate.getEndAt())) {
+            log.warn("Check-in attempt outside event time window for event: {}", gate.getCode());
+            return checkInMapper.toErrorResponse("Event not active (outside time window)",
+                    entry.getAttendeeName(), entry.getTicketNo(), null);
+        }
+
+        if (!entry.claim(now)) {
+            log.warn("Duplicate check-in attempt for ticket: {}", entry.getTicketNo());
+            return checkInMapper.toErrorResponse("Already checked-in", entry.getAttendeeName(),
+                    entry.getTicketNo(), entry.getCheckedInAt());
+        }
+
+        checkInWriteBehind.enqueue(ticketId, staffUser, now);
+        eventCounterRegistry.ticketCheckedIn(gate.getEventId());
+        checkInBroadcaster.checkedIn(gate.getEventId(), entry.getTicketNo(), entry.getAttendeeName(), staffUser, now);
+        log.info("Check-in successful for ticket: {} by staff: {}", entry.getTicketNo(), staffUser);
+        return checkInMapper.toSuccessResponse(entry.getAttendeeName(), entry.getTicketNo(), now);
+    }
+
+    /**
+     * Work out why the conditional update matched no row. Only runs on the failure path.
+     */
+    private CheckInResponse rejectCheckIn(QrPayloadHelper.QrTicketRef ref, OffsetDateTime now) {
+        UUID ticketId = ref.ticketId();
+        Object eventKey = ref.eventId() != null ? ref.eventId() : ref.eventCode();
+        TicketCheckInView ticket = ticketRepository.findCheckInViewById(ticketId).orElse(null);
+
+        boolean sameEvent = ticket != null && (ref.eventId() != null
+                ? ticket.getEventId().equals(ref.eventId())
+                : ticket.getEventCode().equals(ref.eventCode()));
+        if (!sameEvent) {
+            boolean eventExists = ref.eventId() != null
+                    ? eventRepository.existsById(ref.eventId())
+                    : eventRepository.existsByCode(ref.eventCode());
+            if (!eventExists) {
+                log.error("Event not found: {}", eventKey);
+                return checkInMapper.toErrorResponse("Event not found", null, null, null);
+            }
+            if (ticket == null) {
+                log.error("Ticket not found: {}", ticketId);
+                return checkInMapper.toErrorResponse("Ticket not found", null, null, null);
+            }
+            log.warn("Ticket {} does not belong to event {}", ticketId, eventKey);
             return checkInMapper.toErrorResponse("Ticket does not belong to this event", null, null, null);
         }
 
@@ -91,40 +297,18 @@ public class CheckInServiceImpl implements CheckInService {
 
         if (ticket.getCheckedInAt() != null) {
             log.warn("Duplicate check-in attempt for ticket: {}", ticket.getTicketNo());
-            return checkInMapper.toErrorResponse("Already checked-in", ticket.getAttendee().getFullName(),
+            return checkInMapper.toErrorResponse("Already checked-in", ticket.getAttendeeName(),
                     ticket.getTicketNo(), ticket.getCheckedInAt());
         }
 
-        // Optional: check time window
-        OffsetDateTime now = OffsetDateTime.now();
-        if (now.isBefore(event.getStartAt()) || now.isAfter(event.getEndAt())) {
-            log.warn("Check-in attempt outside event time window for event: {}", eventCode);
-            return checkInMapper.toErrorResponse("Event not active (outside time window)", 
-                    ticket.getAttendee().getFullName(), ticket.getTicketNo(), null);
+        if (now.isBefore(ticket.getStartAt()) || now.isAfter(ticket.getEndAt())) {
+            log.warn("Check-in attempt outside event time window for event: {}", ticket.getEventCode());
+            return checkInMapper.toErrorResponse("Event not active (outside time window)",
+                    ticket.getAttendeeName(), ticket.getTicketNo(), null);
         }
 
-        ticket.setCheckedInAt(now);
-        ticket.setCheckedInBy(staffUser);
-        ticketRepository.save(ticket);
-
-        log.info("Check-in successful for ticket: {} by staff: {}", ticket.getTicketNo(), staffUser);
-        return checkInMapper.toSuccessResponse(ticket);
-    }
-
-    private static Map<String, String> parseQuery(String payload) {
-        String s = payload.trim();
-        // allow full URL like https://...?... too
-        int idx = s.indexOf('?');
-        if (idx >= 0) s = s.substring(idx + 1);
-
-        Map<String, String> map = new HashMap<>();
-        for (String part : s.split("&")) {
-            int eq = part.indexOf('=');
-            if (eq <= 0) continue;
-            String k = URLDecoder.decode(part.substring(0, eq), StandardCharsets.UTF_8);
-            String v = URLDecoder.decode(part.substring(eq + 1), StandardCharsets.UTF_8);
-            map.put(k, v);
-        }
-        return map;
+        log.warn("Conditional check-in for ticket {} matched no row", ticket.getTicketNo());
+        return checkInMapper.toErrorResponse("Check-in failed, please scan again",
+                ticket.getAttendeeName(), ticket.getTicketNo(), null);
     }
 }
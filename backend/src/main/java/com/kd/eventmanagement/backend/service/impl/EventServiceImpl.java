@@ -1,34 +1,65 @@
 package com.kd.eventmanagement.backend.service.impl;
 
+import com.kd.eventmanagement.backend.cache.EventCache;
+import com.kd.eventmanagement.backend.cache.EventCounterRegistry;
+import com.kd.eventmanagement.backend.cache.EventListCache;
+import com.kd.eventmanagement.backend.cache.EventSearchIndex;
+import com.kd.eventmanagement.backend.cache.EventSnapshot;
 import com.kd.eventmanagement.backend.common.enums.ErrorCode;
+import com.kd.eventmanagement.backend.common.event.EventChangedEvent;
+import com.kd.eventmanagement.backend.common.exception.BusinessException;
 import com.kd.eventmanagement.backend.common.exception.ResourceNotFoundException;
+import com.kd.eventmanagement.backend.common.helper.EventIdentifierResolver;
 import com.kd.eventmanagement.backend.common.helper.HashidsHelper;
 import com.kd.eventmanagement.backend.common.mapper.EventMapper;
 import com.kd.eventmanagement.backend.common.util.CodeGenerator;
+import com.kd.eventmanagement.backend.common.util.EventCursor;
 import com.kd.eventmanagement.backend.dto.request.CreateEventRequest;
+import com.kd.eventmanagement.backend.dto.respone.CursorPage;
 import com.kd.eventmanagement.backend.dto.respone.EventResponse;
 import com.kd.eventmanagement.backend.entity.Event;
 import com.kd.eventmanagement.backend.repository.EventRepository;
+import com.kd.eventmanagement.backend.repository.EventSpecifications;
 import com.kd.eventmanagement.backend.service.EventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventServiceImpl implements EventService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"));
+
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
     private final HashidsHelper hashidsHelper;
+    private final EventIdentifierResolver eventIdentifierResolver;
+    private final EventCounterRegistry eventCounterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventCache eventCache;
+    private final EventListCache eventListCache;
 
     /* =====================================================
        CREATE
@@ -54,6 +85,12 @@ public class EventServiceImpl implements EventService {
                 .build();
 
         eventRepository.save(event);
+        // The identity id only exists after the insert. The hash id is written by a native update that
+        // leaves the version at 0; the column is not updatable, so the in-memory copy is not flushed again.
+        String hashId = hashidsHelper.encode(event.getId());
+        eventRepository.assignHashId(event.getId(), hashId);
+        event.setHashId(hashId);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId(), event.getCode(), EventChangedEvent.Change.CREATED));
 
         log.info("Event created code={} id={}", event.getCode(), event.getId());
         return eventMapper.toResponse(event);
@@ -62,47 +99,103 @@ public class EventServiceImpl implements EventService {
     /* =====================================================
        READ (code OR hashid)
        ===================================================== */
+    // No transaction: cache hits never borrow a connection, misses load through the repository
     @Override
-    @Transactional(readOnly = true)
     public EventResponse getByCode(String codeOrHash) {
-        Event event = findByCodeOrHash(codeOrHash);
+        EventSnapshot event = findSnapshotByCodeOrHash(codeOrHash);
         return eventMapper.toResponse(event);
     }
 
     /* =====================================================
        LIST + FILTER
        ===================================================== */
+    // No transaction: served from the page cache, which loads through the repository on a miss
     @Override
-    @Transactional(readOnly = true)
     public Page<EventResponse> getAllEvents(int page, int size, String title, Event.EventStatus status) {
         int pageIndex = Math.max(page - 1, 0);
-        int pageSize  = Math.max(size, 1);
-
-        Pageable pageable = PageRequest.of(
-                pageIndex,
-                pageSize,
-                Sort.by(Sort.Direction.DESC, "createdAt")
-        );
-
-        Page<Event> events;
-
-        boolean hasTitle = title != null && !title.isBlank();
-        boolean hasStatus = status != null;
-
-        if (hasTitle && hasStatus) {
-            events = eventRepository.findByTitleContainingIgnoreCaseAndStatus(title.trim(), status, pageable);
-        } else if (hasTitle) {
-            events = eventRepository.findByTitleContainingIgnoreCase(title.trim(), pageable);
-        } else if (hasStatus) {
-            events = eventRepository.findByStatus(status, pageable);
-        } else {
-            events = eventRepository.findAll(pageable);
+        int pageSize  = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        String titleFilter = title != null && !title.isBlank() ? title.trim() : null;
+
+        return eventListCache.get(pageIndex, pageSize, titleFilter, status);
+    }
+
+    /**
+     * Keyset listing: each page seeks past the previous page's last (createdAt, id) on the
+     * matching index instead of skipping rows, so deep pages cost the same as the first.
+     * The total is a separate COUNT and only run when asked for.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getEventsAfter(String cursor, int size, String title, Event.EventStatus status, boolean includeTotal) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        List<Specification<Event>> filters = new ArrayList<>(2);
+        if (title != null && !title.isBlank()) {
+            filters.add(EventSpecifications.titleContains(title.trim()));
         }
+        if (status != null) {
+            filters.add(EventSpecifications.hasStatus(status));
+        }
+        Specification<Event> filter = Specification.allOf(filters);
 
-        return events.map(eventMapper::toResponse);
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isBlank()) {
+            EventCursor after = EventCursor.decode(cursor);
+            if (after == null) {
+                throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid cursor");
+            }
+            position = ScrollPosition.forward(Map.of("createdAt", after.createdAt(), "id", after.id()));
+        }
+
+        ScrollPosition from = position;
+        Window<Event> window = eventRepository.findBy(filter, query -> query
+                .sortBy(NEWEST_FIRST)
+                .limit(pageSize)
+                .scroll(from));
+
+        List<EventResponse> items = window.map(eventMapper::toResponse).getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Event last = window.getContent().getLast();
+            nextCursor = new EventCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        Long total = includeTotal ? eventRepository.count(filter) : null;
+        return new CursorPage<>(items, nextCursor, total);
     }
 
 
+    /* =====================================================
+       SEARCH
+       ===================================================== */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventResponse> searchEvents(String query, Event.EventStatus status, int limit) {
+        int maxResults = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+
+        List<Long> ids = eventSearchIndex.search(query, status, maxResults);
+        if (ids == null) {
+            // Index still building after startup
+            log.debug("Search index not ready, falling back to title scan for '{}'", query);
+            Pageable pageable = PageRequest.of(0, maxResults, NEWEST_FIRST);
+            Page<Event> events = status != null
+                    ? eventRepository.findByTitleContainingIgnoreCaseAndStatus(query.trim(), status, pageable)
+                    : eventRepository.findByTitleContainingIgnoreCase(query.trim(), pageable);
+            return events.map(eventMapper::toResponse).getContent();
+        }
+
+        // Primary key lookups for the hits, returned in ranked order
+        Map<Long, Event> byId = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(event -> event != null)
+                .map(eventMapper::toResponse)
+                .toList();
+    }
+
     /* =====================================================
        UPDATE
        ===================================================== */
@@ -127,6 +220,7 @@ public class EventServiceImpl implements EventService {
         }
 
         eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId(), event.getCode(), EventChangedEvent.Change.UPDATED));
 
         return eventMapper.toResponse(event);
     }
@@ -140,30 +234,23 @@ public class EventServiceImpl implements EventService {
         log.warn("Deleting event {}", codeOrHash);
         Event event = findByCodeOrHash(codeOrHash);
         eventRepository.delete(event);
+        eventCounterRegistry.evict(event.getId());
+        eventPublisher.publishEvent(new EventChangedEvent(event.getId(), event.getCode(), EventChangedEvent.Change.DELETED));
     }
 
 
     private Event findByCodeOrHash(String codeOrHash) {
-        if (codeOrHash == null || codeOrHash.isBlank()) {
-            throw new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found");
-        }
+        return eventIdentifierResolver.resolve(codeOrHash, eventRepository::findByCode, eventRepository::findByHashId, eventRepository::findById)
+                .orElseThrow(() -> eventNotFound(codeOrHash));
+    }
 
-        if (hashidsHelper.isValid(codeOrHash)) {
-            Long id = hashidsHelper.decodeLong(codeOrHash);
-            if (id != null) {
-                return eventRepository.findById(id)
-                        .orElseThrow(() -> new ResourceNotFoundException(
-                                ErrorCode.EVENT_NOT_FOUND,
-                                "Event not found: " + codeOrHash
-                        ));
-            }
-        }
+    private EventSnapshot findSnapshotByCodeOrHash(String codeOrHash) {
+        return eventIdentifierResolver.resolve(codeOrHash, eventCache::findByCode, eventCache::findByHashId, eventCache::findById)
+                .orElseThrow(() -> eventNotFound(codeOrHash));
+    }
 
-        return eventRepository.findByCode(codeOrHash)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        ErrorCode.EVENT_NOT_FOUND,
-                        "Event not found: " + codeOrHash
-                ));
+    private static ResourceNotFoundException eventNotFound(String codeOrHash) {
+        return new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found: " + codeOrHash);
     }
 
     private void validateDates(CreateEventRequest req) {
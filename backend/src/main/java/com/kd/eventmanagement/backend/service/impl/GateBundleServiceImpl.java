@@ -0,0 +1,215 @@
+package com.kd.eventmanagement.backend.service.impl;
+
+import com.kd.eventmanagement.backend.common.enums.ErrorCode;
+import com.kd.eventmanagement.backend.common.exception.ResourceNotFoundException;
+import com.kd.eventmanagement.backend.common.helper.GateBundleSigner;
+import com.kd.eventmanagement.backend.dto.respone.GateBundleKeyResponse;
+import com.kd.eventmanagement.backend.entity.Event;
+import com.kd.eventmanagement.backend.entity.Ticket;
+import com.kd.eventmanagement.backend.repository.EventRepository;
+import com.kd.eventmanagement.backend.repository.TicketCheckInRepository.BundleTicket;
+import com.kd.eventmanagement.backend.repository.TicketRepository;
+import com.kd.eventmanagement.backend.service.GateBundleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams signed per-event validation bundles for gate devices that check QR codes offline.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header   "EMGB" | version(1) | kind(1: 0 full, 1 delta) | event id(8) | start epoch s(8) | end epoch s(8)
+ *          | signing key id(4) | since epoch ms(8) | cursor epoch ms(8) | event ticket count(4)
+ * records  state(1: 0 active, 1 revoked, 2 checked in) | ticket id(16), sorted by ticket id bytes
+ * trailer  0xFF | record count(4) | Ed25519ph signature over every preceding byte(64)
+ * </pre>
+ * Devices verify the bundle with the public key from {@link GateBundleSigner} and admit a scan when the
+ * ticket id read from the QR code is an active record, so a scan needs no network. Devices never hold
+ * the QR signing secret: a device can check bundles but cannot forge tickets or bundles.
+ * <p>
+ * The signature is Ed25519ph (RFC 8032: SHA-512 of the bytes, empty context), not pure Ed25519, so the
+ * signer keeps only a running digest while records stream out. Version 3 introduced Ed25519ph; devices
+ * verify with {@code Ed25519ph(publicKey, SHA-512(bundle without signature))} and reject any other
+ * version.
+ * <p>
+ * The cursor is the database time when generation started minus a skew margin; passing it back as
+ * {@code since} returns every ticket written since, possibly a few twice, which is harmless because
+ * records are applied as upserts. Deleted tickets cannot show up in a delta, so every bundle carries
+ * the event's ticket count: a device whose ticket count differs after applying a delta fetches a full
+ * bundle.
+ * <p>
+ * Records are read in keyset pages of short queries, so a slow device never holds a database
+ * connection while it downloads.
+ */
+@Slf4j
+@Service
+public class GateBundleServiceImpl implements GateBundleService {
+
+    private static final byte[] MAGIC = "EMGB".getBytes(StandardCharsets.US_ASCII);
+    private static final int FORMAT_VERSION = 3;
+    private static final int KIND_FULL = 0;
+    private static final int KIND_DELTA = 1;
+    private static final int STATE_ACTIVE = 0;
+    private static final int STATE_REVOKED = 1;
+    private static final int STATE_CHECKED_IN = 2;
+    private static final int END_OF_RECORDS = 0xFF;
+    private static final int PAGE_SIZE = 2000;
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final GateBundleSigner gateBundleSigner;
+    private final long cursorSkewMillis;
+
+    public GateBundleServiceImpl(EventRepository eventRepository,
+                                 TicketRepository ticketRepository,
+                                 GateBundleSigner gateBundleSigner,
+                                 @Value("${app.checkin.bundle.cursor-skew-ms:30000}") long cursorSkewMillis) {
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.gateBundleSigner = gateBundleSigner;
+        this.cursorSkewMillis = cursorSkewMillis;
+    }
+
+    @Override
+    public StreamingResponseBody fullBundle(String eventCode) {
+        Event event = findEvent(eventCode);
+        return out -> write(event, null, out);
+    }
+
+    @Override
+    public StreamingResponseBody deltaBundle(String eventCode, long since) {
+        Event event = findEvent(eventCode);
+        return out -> write(event, since, out);
+    }
+
+    @Override
+    public GateBundleKeyResponse signingKey() {
+        return new GateBundleKeyResponse(gateBundleSigner.keyId(), GateBundleSigner.SCHEME,
+                gateBundleSigner.publicKeyBase64());
+    }
+
+    private Event findEvent(String eventCode) {
+        // Resolved before streaming starts so a bad code still gets a normal error response
+        return eventRepository.findByCode(eventCode)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorCode.EVENT_NOT_FOUND, "Event not found"));
+    }
+
+    private void write(Event event, Long since, OutputStream body) throws IOException {
+        SigningOutputStream signing = new SigningOutputStream(new BufferedOutputStream(body, 64 * 1024),
+                gateBundleSigner.newSignature());
+        DataOutputStream out = new DataOutputStream(signing);
+
+        long cursor = ticketRepository.databaseNow().toInstant().toEpochMilli() - cursorSkewMillis;
+        long ticketCount = ticketRepository.countByEventId(event.getId());
+        writeHeader(out, event, since, cursor, ticketCount);
+
+        OffsetDateTime changedSince = since == null
+                ? null
+                : OffsetDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneOffset.UTC);
+        int count = 0;
+        byte[] record = new byte[17];
+        UUID after = null;
+        List<BundleTicket> page;
+        do {
+            page = ticketRepository.findBundlePage(event.getId(), changedSince, after, PAGE_SIZE);
+            for (BundleTicket ticket : page) {
+                record[0] = (byte) (ticket.status() == Ticket.TicketStatus.REVOKED
+                        ? STATE_REVOKED
+                        : ticket.checkedIn() ? STATE_CHECKED_IN : STATE_ACTIVE);
+                putLong(record, 1, ticket.ticketId().getMostSignificantBits());
+                putLong(record, 9, ticket.ticketId().getLeastSignificantBits());
+                out.write(record);
+                count++;
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).ticketId();
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        out.writeByte(END_OF_RECORDS);
+        out.writeInt(count);
+        out.flush();
+        signing.writeSignature();
+        signing.flush();
+        log.info("Streamed {} gate bundle for event {}: {} tickets", since == null ? "full" : "delta",
+                event.getCode(), count);
+    }
+
+    private void writeHeader(DataOutputStream out, Event event, Long since, long cursor, long ticketCount)
+            throws IOException {
+        out.write(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(since == null ? KIND_FULL : KIND_DELTA);
+        out.writeLong(event.getId());
+        out.writeLong(event.getStartAt().toEpochSecond());
+        out.writeLong(event.getEndAt().toEpochSecond());
+        out.writeInt(gateBundleSigner.keyId());
+        out.writeLong(since == null ? 0 : since);
+        out.writeLong(cursor);
+        out.writeInt((int) ticketCount);
+    }
+
+    private static void putLong(byte[] b, int off, long v) {
+        for (int i = 7; i >= 0; i--) {
+            b[off + i] = (byte) v;
+            v >>>= 8;
+        }
+    }
+
+    /**
+     * Feeds every byte written through it into the signature, then appends it
+     */
+    private static final class SigningOutputStream extends FilterOutputStream {
+
+        private final Signature signature;
+
+        SigningOutputStream(OutputStream out, Signature signature) {
+            super(out);
+            this.signature = signature;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                signature.update((byte) b);
+            } catch (SignatureException e) {
+                throw new IOException(e);
+            }
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                signature.update(b, off, len);
+            } catch (SignatureException e) {
+                throw new IOException(e);
+            }
+            out.write(b, off, len);
+        }
+
+        void writeSignature() throws IOException {
+            try {
+                out.write(signature.sign());
+            } catch (SignatureException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -1,23 +1,24 @@
 package com.kd.eventmanagement.backend.service.impl;
 
+import com.kd.eventmanagement.backend.cache.EventCounterRegistry;
+import com.kd.eventmanagement.backend.cache.GateTicketIndex;
 import com.kd.eventmanagement.backend.common.enums.ErrorCode;
 import com.kd.eventmanagement.backend.common.exception.BusinessException;
 import com.kd.eventmanagement.backend.common.exception.ResourceNotFoundException;
+import com.kd.eventmanagement.backend.common.helper.QrPayloadHelper;
 import com.kd.eventmanagement.backend.common.mapper.TicketMapper;
-import com.kd.eventmanagement.backend.common.util.QrSigner;
 import com.kd.eventmanagement.backend.dto.request.RegisterAttendeeRequest;
 import com.kd.eventmanagement.backend.dto.respone.TicketIssuedResponse;
 import com.kd.eventmanagement.backend.entity.Attendee;
 import com.kd.eventmanagement.backend.entity.Event;
 import com.kd.eventmanagement.backend.entity.Ticket;
-import com.kd.eventmanagement.backend.integration.telegram.TelegramBotClient;
+import com.kd.eventmanagement.backend.integration.telegram.TelegramOutbox;
 import com.kd.eventmanagement.backend.repository.AttendeeRepository;
 import com.kd.eventmanagement.backend.repository.EventRepository;
 import com.kd.eventmanagement.backend.repository.TicketRepository;
 import com.kd.eventmanagement.backend.service.RegistrationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,16 +34,19 @@ public class RegistrationServiceImpl implements RegistrationService {
     private final AttendeeRepository attendeeRepository;
     private final TicketRepository ticketRepository;
     private final TicketMapper ticketMapper;
-    private final TelegramBotClient telegramBotClient;
-
-    @Value("${app.qr.secret:change-me}")
-    private String qrSecret;
+    private final QrPayloadHelper qrPayloadHelper;
+    private final TelegramOutbox telegramOutbox;
+    private final EventCounterRegistry eventCounterRegistry;
+    private final GateTicketIndex gateTicketIndex;
 
     @Override
     @Transactional
     public TicketIssuedResponse register(RegisterAttendeeRequest req) {
         log.info("Registering attendee {} for event {}", req.fullName(), req.eventCode());
 
+        // Straight to the database rather than EventCache: the entity is needed to attach the attendee and
+        // ticket anyway, and its status must be current because a cached snapshot may lag a close made on
+        // another instance. Going through the cache would only add a lookup in front of the same query.
         Event event = eventRepository.findByCode(req.eventCode())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         ErrorCode.EVENT_NOT_FOUND,
@@ -55,15 +59,19 @@ public class RegistrationServiceImpl implements RegistrationService {
 
         // Prevent duplicate registration (same telegramUserId in same event)
         Attendee attendee = attendeeRepository.findByEventAndTelegramUserId(event, req.telegramUserId())
-                .orElseGet(() -> attendeeRepository.save(Attendee.builder()
-                        .event(event)
-                        .telegramUserId(req.telegramUserId())
-                        .fullName(req.fullName())
-                        .phone(req.phone())
-                        .email(req.email())
-                        .company(req.company())
-                        .createdAt(OffsetDateTime.now())
-                        .build()));
+                .orElse(null);
+        if (attendee == null) {
+            attendee = attendeeRepository.save(Attendee.builder()
+                    .event(event)
+                    .telegramUserId(req.telegramUserId())
+                    .fullName(req.fullName())
+                    .phone(req.phone())
+                    .email(req.email())
+                    .company(req.company())
+                    .createdAt(OffsetDateTime.now())
+                    .build());
+            eventCounterRegistry.attendeeRegistered(event.getId());
+        }
 
         // One ticket per attendee (if you want to prevent duplicates, check existing ticket too)
         Ticket ticket = Ticket.builder()
@@ -75,29 +83,22 @@ public class RegistrationServiceImpl implements RegistrationService {
                 .build();
 
         ticket = ticketRepository.save(ticket);
+        gateTicketIndex.ticketIssued(event.getId(), ticket.getId(), ticket.getTicketNo(), attendee.getFullName());
 
-        String qrPayload = buildSignedQrPayload(ticket.getId(), event.getCode(), ticket.getIssuedAt());
+        String qrPayload = qrPayloadHelper.sign(ticket.getId(), event.getId(), event.getCode(), ticket.getIssuedAt());
 
-        // Send confirmation (don’t fail registration if Telegram fails)
-        sendTelegramConfirmation(req.telegramUserId(), ticket, event);
+        // Queued with the registration; delivered after commit by the outbox dispatcher
+        queueTelegramConfirmation(req.telegramUserId(), ticket, event);
 
-        return ticketMapper.toIssuedResponse(ticket, qrPayload);
+        return ticketMapper.toIssuedResponse(ticket, event.getCode(), qrPayload);
     }
 
     private String generateTicketNo() {
         return "T-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 
-    private String buildSignedQrPayload(UUID ticketId, String eventCode, OffsetDateTime issuedAt) {
-        long ts = issuedAt.toEpochSecond();
-        String base = "t=" + ticketId + "&e=" + eventCode + "&ts=" + ts;
-        String sig = QrSigner.hmacSha256Hex(qrSecret, base);
-        return base + "&sig=" + sig;
-    }
-
-    private void sendTelegramConfirmation(Long telegramUserId, Ticket ticket, Event event) {
-        try {
-            String message = String.format("""
+    private void queueTelegramConfirmation(Long telegramUserId, Ticket ticket, Event event) {
+        String message = String.format("""
                 ✅ <b>Registration Confirmed!</b>
                                 
                 📅 Event: <b>%s</b>
@@ -108,16 +109,13 @@ public class RegistrationServiceImpl implements RegistrationService {
                                 
                 Please save your QR code for check-in.
                 """,
-                    event.getTitle(),
-                    ticket.getTicketNo(),
-                    event.getLocation() != null ? event.getLocation() : "TBA",
-                    event.getStartAt(),
-                    event.getEndAt()
-            );
-
-            telegramBotClient.sendMessageToUser(telegramUserId, message);
-        } catch (Exception e) {
-            log.error("Failed to send Telegram confirmation", e);
-        }
+                event.getTitle(),
+                ticket.getTicketNo(),
+                event.getLocation() != null ? event.getLocation() : "TBA",
+                event.getStartAt(),
+                event.getEndAt()
+        );
+
+        telegramOutbox.enqueue(telegramUserId, message);
     }
 }
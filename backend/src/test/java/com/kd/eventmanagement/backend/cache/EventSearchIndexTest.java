@@ -0,0 +1,202 @@
+package com.kd.eventmanagement.backend.cache;
+
+import com.kd.eventmanagement.backend.common.event.EventChangedEvent;
+import com.kd.eventmanagement.backend.entity.Event;
+import com.kd.eventmanagement.backend.repository.EventRepository;
+import com.kd.eventmanagement.backend.repository.projection.EventSearchView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+
+	private final Map<Long, EventSearchView> rows = new ConcurrentSkipListMap<>();
+	private final EventRepository eventRepository = mock(EventRepository.class);
+	private EventSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		when(eventRepository.findSearchPage(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+			long after = invocation.getArgument(0);
+			Pageable pageable = invocation.getArgument(1);
+			return rows.values().stream()
+					.filter(row -> row.getId() > after)
+					.limit(pageable.getPageSize())
+					.toList();
+		});
+		when(eventRepository.findSearchViewById(anyLong()))
+				.thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+		index = new EventSearchIndex(eventRepository, 40);
+	}
+
+	@AfterEach
+	void tearDown() {
+		index.shutdown();
+	}
+
+	@Test
+	void returnsNullUntilBuilt() {
+		assertThat(index.search("music", null, 10)).isNull();
+	}
+
+	@Test
+	void matchesSubstringsAndWordPrefixes() {
+		put(1, "Phnom Penh Jazz Night", "Riverside", null, Event.EventStatus.PUBLISHED);
+		put(2, "Startup Pitch", "Siem Reap", null, Event.EventStatus.PUBLISHED);
+		build();
+
+		assertThat(index.search("azz", null, 10)).containsExactly(1L);
+		assertThat(index.search("JAZZ night", null, 10)).containsExactly(1L);
+		assertThat(index.search("si", null, 10)).containsExactly(2L);
+		// Two characters only match at the start of a word
+		assertThat(index.search("ea", null, 10)).isEmpty();
+		assertThat(index.search("jazz pitch", null, 10)).isEmpty();
+		assertThat(index.search("!!", null, 10)).isEmpty();
+	}
+
+	@Test
+	void ranksTitleMatchesFirstThenNewest() {
+		put(1, "Coding Bootcamp", null, null, Event.EventStatus.PUBLISHED);
+		put(2, "Meetup", "Coding Hall", null, Event.EventStatus.PUBLISHED);
+		put(3, "Coding Night", null, null, Event.EventStatus.PUBLISHED);
+		put(4, "Hackathon", null, "Bring your coding laptop", Event.EventStatus.PUBLISHED);
+		build();
+
+		assertThat(index.search("coding", null, 10)).containsExactly(3L, 1L, 4L, 2L);
+		assertThat(index.search("coding", null, 2)).containsExactly(3L, 1L);
+		assertThat(index.search("coding", null, 0)).isEmpty();
+	}
+
+	@Test
+	void onlySearchesTheStartOfDescriptions() {
+		put(1, "Talk", null, "x".repeat(40) + " hidden keyword", Event.EventStatus.PUBLISHED);
+		build();
+
+		assertThat(index.search("keyword", null, 10)).isEmpty();
+	}
+
+	@Test
+	void filtersByStatus() {
+		put(1, "Music Fest", null, null, Event.EventStatus.DRAFT);
+		put(2, "Music Gala", null, null, Event.EventStatus.PUBLISHED);
+		build();
+
+		assertThat(index.search("music", Event.EventStatus.PUBLISHED, 10)).containsExactly(2L);
+		assertThat(index.search("music", Event.EventStatus.CLOSED, 10)).isEmpty();
+		assertThat(index.search("music", null, 10)).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		put(1, "Music Fest", null, null, Event.EventStatus.PUBLISHED);
+		put(2, "Art Fair", null, null, Event.EventStatus.PUBLISHED);
+		build();
+
+		put(1, "Food Fest", null, null, Event.EventStatus.PUBLISHED);
+		index.onEventChanged(new EventChangedEvent(1L, "EVT1", EventChangedEvent.Change.UPDATED));
+		rows.remove(2L);
+		index.onEventChanged(new EventChangedEvent(2L, "EVT2", EventChangedEvent.Change.DELETED));
+		put(3, "Music Camp", null, null, Event.EventStatus.PUBLISHED);
+		index.onEventChanged(new EventChangedEvent(3L, "EVT3", EventChangedEvent.Change.CREATED));
+
+		assertThat(index.search("music", null, 10)).containsExactly(3L);
+		assertThat(index.search("food", null, 10)).containsExactly(1L);
+		assertThat(index.search("art", null, 10)).isEmpty();
+	}
+
+	@Test
+	void compactsOnceTombstonesPileUp() throws InterruptedException {
+		put(1, "Music Fest", null, null, Event.EventStatus.PUBLISHED);
+		put(2, "Art Fair", null, null, Event.EventStatus.PUBLISHED);
+		build();
+
+		for (int i = 0; i <= 1000; i++) {
+			put(1, "Music Fest " + i, null, null, Event.EventStatus.PUBLISHED);
+			index.onEventChanged(new EventChangedEvent(1L, "EVT1", EventChangedEvent.Change.UPDATED));
+		}
+
+		// The first build plus the compaction
+		verify(eventRepository, timeout(5_000).times(2)).findSearchPage(anyLong(), any(Pageable.class));
+		awaitResult("1000", List.of(1L));
+		assertThat(index.search("music", null, 10)).containsExactly(1L);
+		assertThat(index.search("art", null, 10)).containsExactly(2L);
+		assertThat(index.search("999", null, 10)).isEmpty();
+	}
+
+	@Test
+	void queryGramsUsePrefixPaddingForShortWords() {
+		assertThat(EventSearchIndex.queryGrams("ab")).hasSize(2);
+		assertThat(EventSearchIndex.queryGrams("abcd")).hasSize(2);
+		assertThat(EventSearchIndex.queryGrams("abc abc")).hasSize(1);
+		assertThat(EventSearchIndex.queryGrams(null)).isEmpty();
+		assertThat(EventSearchIndex.queryGrams(" - ")).isEmpty();
+	}
+
+	private void put(long id, String title, String location, String description, Event.EventStatus status) {
+		rows.put(id, new View(id, title, description, location, status));
+	}
+
+	private void build() {
+		index.buildOnStartup();
+		awaitResult(null, null);
+	}
+
+	/**
+	 * Poll until the index is built and, when given, the query returns the expected ids
+	 */
+	private void awaitResult(String query, List<Long> expected) {
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (System.nanoTime() < deadline) {
+			List<Long> result = index.search(query != null ? query : "zzz", null, 10);
+			if (result != null && (expected == null || expected.equals(result))) {
+				return;
+			}
+			Thread.onSpinWait();
+		}
+		throw new AssertionError("Index did not reach the expected state");
+	}
+
+	private record View(Long id, String title, String description, String location, Event.EventStatus status)
+			implements EventSearchView {
+
+		@Override
+		public Long getId() {
+			return id;
+		}
+
+		@Override
+		public String getTitle() {
+			return title;
+		}
+
+		@Override
+		public String getDescription() {
+			return description;
+		}
+
+		@Override
+		public String getLocation() {
+			return location;
+		}
+
+		@Override
+		public Event.EventStatus getStatus() {
+			return status;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.kd.eventmanagement.backend.common.helper;
+
+import com.kd.eventmanagement.backend.config.HashIdProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventIdentifierResolverTest {
+
+	private final HashidsHelper hashidsHelper = hashidsHelper();
+	private final EventIdentifierResolver resolver = new EventIdentifierResolver(hashidsHelper);
+
+	private final Map<String, String> byCode = new HashMap<>();
+	private final Map<String, String> byHashId = new HashMap<>();
+	private final Map<Long, String> byId = new HashMap<>();
+	private final List<String> lookups = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		byCode.put("EVTABCD234", "event-1");
+		byHashId.put(hashidsHelper.encode(1L), "event-1");
+		byId.put(1L, "event-1");
+		// Row the hash id backfill has not reached yet
+		byId.put(2L, "event-2");
+	}
+
+	@Test
+	void codeHitOnlyQueriesTheCode() {
+		assertThat(resolve("EVTABCD234")).contains("event-1");
+		assertThat(lookups).containsExactly("code");
+	}
+
+	@Test
+	void storedHashIdSkipsTheCodeLookup() {
+		assertThat(resolve(hashidsHelper.encode(1L))).contains("event-1");
+		assertThat(lookups).containsExactly("hashId");
+	}
+
+	@Test
+	void hashIdMissFallsBackToDecoding() {
+		assertThat(resolve(hashidsHelper.encode(2L))).contains("event-2");
+		assertThat(lookups).containsExactly("hashId", "id");
+	}
+
+	@Test
+	void codeShapedHashIdFallsThroughToHashIdAndDecoding() {
+		// A hashid whose text happens to look like an event code
+		HashidsHelper decoder = mock(HashidsHelper.class);
+		when(decoder.decodeLong("EVTQWER567")).thenReturn(2L);
+
+		Optional<String> found = new EventIdentifierResolver(decoder).resolve("EVTQWER567",
+				code -> lookup("code", byCode.get(code)),
+				hashId -> lookup("hashId", byHashId.get(hashId)),
+				id -> lookup("id", byId.get(id)));
+
+		assertThat(found).contains("event-2");
+		assertThat(lookups).containsExactly("code", "hashId", "id");
+	}
+
+	@Test
+	void codeShapedStoredHashIdIsFoundAfterTheCodeMiss() {
+		byHashId.put("EVTQWER567", "event-3");
+
+		assertThat(resolve("EVTQWER567")).contains("event-3");
+		assertThat(lookups).containsExactly("code", "hashId");
+	}
+
+	@Test
+	void unknownValueNeverQueriesTheCode() {
+		assertThat(resolve("not-an-id")).isEmpty();
+		assertThat(lookups).containsExactly("hashId");
+
+		lookups.clear();
+		assertThat(resolve(hashidsHelper.encode(99L))).isEmpty();
+		assertThat(lookups).containsExactly("hashId", "id");
+	}
+
+	@Test
+	void unknownCodeIsEmpty() {
+		assertThat(resolve("EVTZZZZ999")).isEmpty();
+		assertThat(lookups).startsWith("code", "hashId");
+	}
+
+	@Test
+	void blankIsEmptyWithoutLookups() {
+		assertThat(resolve(null)).isEmpty();
+		assertThat(resolve("  ")).isEmpty();
+		assertThat(lookups).isEmpty();
+	}
+
+	private Optional<String> resolve(String codeOrHash) {
+		return resolver.resolve(codeOrHash,
+				code -> lookup("code", byCode.get(code)),
+				hashId -> lookup("hashId", byHashId.get(hashId)),
+				id -> lookup("id", byId.get(id)));
+	}
+
+	private Optional<String> lookup(String kind, String result) {
+		lookups.add(kind);
+		return Optional.ofNullable(result);
+	}
+
+	private static HashidsHelper hashidsHelper() {
+		HashIdProperties props = new HashIdProperties();
+		props.setSalt("test-salt");
+		props.setMinLength(6);
+		return new HashidsHelper(props);
+	}
+}
@@ -0,0 +1,86 @@
+package com.kd.eventmanagement.backend.common.helper;
+
+import com.kd.eventmanagement.backend.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordVerifierTest {
+
+	private final BCryptPasswordEncoder encoder = mock(BCryptPasswordEncoder.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CountDownLatch hashing = new CountDownLatch(1);
+	private PasswordVerifier verifier;
+
+	@AfterEach
+	void tearDown() {
+		verifier.shutdown();
+	}
+
+	@Test
+	void hashLongerThanMaxWaitIsNotCancelled() {
+		slowEncoder(300);
+		verifier = new PasswordVerifier(encoder, meterRegistry, 1, 4, 100, 2);
+
+		assertThat(verifier.matches("secret", "hash")).isTrue();
+		assertThat(meterRegistry.find("auth.password.rejected").counter()).isNull();
+	}
+
+	@Test
+	void loginWaitingTooLongForAWorkerIsShedAndNeverHashed() throws Exception {
+		slowEncoder(500);
+		verifier = new PasswordVerifier(encoder, meterRegistry, 1, 4, 100, 2);
+
+		CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> verifier.matches("secret", "hash"));
+		assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> verifier.matches("other", "hash")).isInstanceOf(TooManyRequestsException.class);
+		assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(meterRegistry.counter("auth.password.rejected").count()).isEqualTo(1.0);
+		// The shed login was taken off the queue rather than hashed later for nobody
+		Thread.sleep(100);
+		verify(encoder, times(1)).matches(anyString(), anyString());
+	}
+
+	@Test
+	void fullQueueIsRejectedImmediately() throws Exception {
+		slowEncoder(500);
+		verifier = new PasswordVerifier(encoder, meterRegistry, 1, 1, 5_000, 2);
+
+		CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> verifier.matches("a", "hash"));
+		assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> verifier.matches("b", "hash"));
+		// Wait until the second check occupies the only queue slot
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("auth.password.queue.size").gauge().value() < 1 && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+
+		long started = System.nanoTime();
+		assertThatThrownBy(() -> verifier.matches("c", "hash")).isInstanceOf(TooManyRequestsException.class);
+		assertThat(System.nanoTime() - started).isLessThan(TimeUnit.MILLISECONDS.toNanos(200));
+		assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private void slowEncoder(long millis) {
+		when(encoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+			hashing.countDown();
+			Thread.sleep(millis);
+			return true;
+		});
+	}
+}
@@ -0,0 +1,199 @@
+package com.kd.eventmanagement.backend.common.helper;
+
+import com.kd.eventmanagement.backend.common.enums.ErrorCode;
+import com.kd.eventmanagement.backend.common.exception.BusinessException;
+import com.kd.eventmanagement.backend.common.util.Base45;
+import com.kd.eventmanagement.backend.common.util.QrSigner;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QrPayloadHelperTest {
+
+	private static final UUID TICKET_ID = UUID.fromString("3f2b8c1e-9a4d-4e6f-8b7a-1c2d3e4f5a6b");
+	private static final OffsetDateTime ISSUED_AT = OffsetDateTime.of(2026, 3, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+	private final QrPayloadHelper helper = new QrPayloadHelper("test-secret", "v2");
+
+	@Test
+	void v2RoundTrips() {
+		String payload = helper.signV2(TICKET_ID, 42L, ISSUED_AT);
+
+		// 39 bytes: 19 pairs of 3 chars plus 2 for the odd byte = 59, after the 4-char prefix
+		assertThat(payload).startsWith(QrPayloadHelper.V2_PREFIX).hasSize(63);
+		assertThat(payload.substring(4)).matches("[0-9A-Z $%*+\\-./:]+");
+		assertThat(helper.verify(payload))
+				.isEqualTo(new QrPayloadHelper.QrTicketRef(TICKET_ID, null, 42L, ISSUED_AT.toEpochSecond()));
+	}
+
+	@Test
+	void v1RoundTrips() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT);
+
+		assertThat(helper.verify(payload))
+				.isEqualTo(new QrPayloadHelper.QrTicketRef(TICKET_ID, "EVT-2026", null, ISSUED_AT.toEpochSecond()));
+	}
+
+	@Test
+	void signUsesTheConfiguredFormat() {
+		QrPayloadHelper v1 = new QrPayloadHelper("test-secret", "v1");
+
+		assertThat(helper.sign(TICKET_ID, 42L, "EVT-2026", ISSUED_AT)).startsWith("EM2:");
+		assertThat(v1.sign(TICKET_ID, 42L, "EVT-2026", ISSUED_AT)).startsWith("t=");
+		// Whatever is configured for new tickets, both formats keep verifying
+		assertThat(v1.verify(helper.signV2(TICKET_ID, 42L, ISSUED_AT)).eventId()).isEqualTo(42L);
+	}
+
+	@Test
+	void v1AcceptsSurroundingWhitespaceAndUrls() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT);
+
+		assertThat(helper.verify("  " + payload + "\n").ticketId()).isEqualTo(TICKET_ID);
+		assertThat(helper.verify("https://example.com/checkin?" + payload).ticketId()).isEqualTo(TICKET_ID);
+	}
+
+	@Test
+	void v1PercentEncodedTakesTheDecodingPath() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT).replace("EVT-2026", "EVT%2D2026");
+
+		assertThat(helper.verify(payload).eventCode()).isEqualTo("EVT-2026");
+	}
+
+	@Test
+	void v1MissingParameterIsNull() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT);
+
+		assertThat(helper.verify(payload.substring(0, payload.indexOf("&sig=")))).isNull();
+	}
+
+	@Test
+	void v1TamperedFieldIsRejected() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT);
+
+		assertInvalid(payload.replace("EVT-2026", "EVT-2027"));
+		assertInvalid(payload.replace("&ts=" + ISSUED_AT.toEpochSecond(), "&ts=" + (ISSUED_AT.toEpochSecond() + 1)));
+	}
+
+	@Test
+	void v1TruncatedSignatureIsRejected() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT);
+
+		assertInvalid(payload.substring(0, payload.length() - 2));
+	}
+
+	@Test
+	void v1AcceptsUppercaseHex() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT);
+		int sig = payload.indexOf("&sig=") + 5;
+
+		assertThat(helper.verify(payload.substring(0, sig) + payload.substring(sig).toUpperCase()).ticketId())
+				.isEqualTo(TICKET_ID);
+	}
+
+	@Test
+	void v1AcceptsUppercasePayload() {
+		// An external issuer that writes the ticket id and signature in uppercase; the MAC covers the id as written
+		String message = "t=" + TICKET_ID.toString().toUpperCase() + "&e=EVT-2026&ts=" + ISSUED_AT.toEpochSecond();
+		String payload = message + "&sig=" + QrSigner.hmacSha256Hex("test-secret", message).toUpperCase();
+
+		assertThat(helper.verify(payload))
+				.isEqualTo(new QrPayloadHelper.QrTicketRef(TICKET_ID, "EVT-2026", null, ISSUED_AT.toEpochSecond()));
+	}
+
+	@Test
+	void v1SignatureMustBeAsciiHex() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT);
+		int sig = payload.indexOf("&sig=") + 5;
+
+		// Fullwidth and Arabic-Indic digits are digits to Character.digit but never come from the signer
+		assertInvalid(payload.substring(0, sig) + toNonAsciiDigits(payload.substring(sig), '０'));
+		assertInvalid(payload.substring(0, sig) + toNonAsciiDigits(payload.substring(sig), '٠'));
+	}
+
+	@Test
+	void v1NonAsciiTicketIdIsRejected() {
+		String payload = helper.signV1(TICKET_ID, "EVT-2026", ISSUED_AT);
+		String ticket = TICKET_ID.toString();
+
+		assertInvalid(payload.replace(ticket, toNonAsciiDigits(ticket, '０')));
+	}
+
+	@Test
+	void hexDigitOnlyAcceptsAscii() {
+		assertThat(QrPayloadHelper.hexDigit('0')).isZero();
+		assertThat(QrPayloadHelper.hexDigit('9')).isEqualTo(9);
+		assertThat(QrPayloadHelper.hexDigit('a')).isEqualTo(10);
+		assertThat(QrPayloadHelper.hexDigit('f')).isEqualTo(15);
+		assertThat(QrPayloadHelper.hexDigit('g')).isEqualTo(-1);
+		assertThat(QrPayloadHelper.hexDigit('A')).isEqualTo(10);
+		assertThat(QrPayloadHelper.hexDigit('F')).isEqualTo(15);
+		assertThat(QrPayloadHelper.hexDigit('G')).isEqualTo(-1);
+		assertThat(QrPayloadHelper.hexDigit('１')).isEqualTo(-1);
+		assertThat(QrPayloadHelper.hexDigit('١')).isEqualTo(-1);
+	}
+
+	@Test
+	void v2TamperedTagIsRejected() {
+		byte[] data = decodeV2(helper.signV2(TICKET_ID, 42L, ISSUED_AT));
+		data[data.length - 1] ^= 1;
+
+		assertInvalid(QrPayloadHelper.V2_PREFIX + Base45.encode(data));
+	}
+
+	@Test
+	void v2TamperedFieldIsRejected() {
+		byte[] data = decodeV2(helper.signV2(TICKET_ID, 42L, ISSUED_AT));
+		// Last byte of the event id
+		data[24] ^= 1;
+
+		assertInvalid(QrPayloadHelper.V2_PREFIX + Base45.encode(data));
+	}
+
+	@Test
+	void v2SignedWithAnotherSecretIsRejected() {
+		String payload = new QrPayloadHelper("other-secret", "v2").signV2(TICKET_ID, 42L, ISSUED_AT);
+
+		assertInvalid(payload);
+	}
+
+	@Test
+	void v2TruncatedOrMalformedIsNull() {
+		String payload = helper.signV2(TICKET_ID, 42L, ISSUED_AT);
+		byte[] data = decodeV2(payload);
+
+		assertThat(helper.verify(payload.substring(0, payload.length() - 3))).isNull();
+		assertThat(helper.verify(payload.substring(0, payload.length() - 1))).isNull();
+		assertThat(helper.verify(payload.toLowerCase().replace("em2:", "EM2:"))).isNull();
+		assertThat(helper.verify(payload.substring(0, 10) + '١' + payload.substring(11))).isNull();
+		assertThat(helper.verify(QrPayloadHelper.V2_PREFIX + Base45.encode(Arrays.copyOf(data, data.length - 1)))).isNull();
+
+		data[0] = 3;
+		assertThat(helper.verify(QrPayloadHelper.V2_PREFIX + Base45.encode(data))).isNull();
+	}
+
+	private void assertInvalid(String payload) {
+		assertThatThrownBy(() -> helper.verify(payload))
+				.isInstanceOfSatisfying(BusinessException.class,
+						e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.INVALID_QR_CODE));
+	}
+
+	private static byte[] decodeV2(String payload) {
+		byte[] data = new byte[64];
+		int length = Base45.decode(payload, QrPayloadHelper.V2_PREFIX.length(), payload.length(), data);
+		return Arrays.copyOf(data, length);
+	}
+
+	private static String toNonAsciiDigits(String s, char zero) {
+		StringBuilder sb = new StringBuilder(s.length());
+		for (char c : s.toCharArray()) {
+			sb.append(c >= '0' && c <= '9' ? (char) (zero + (c - '0')) : c);
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,76 @@
+package com.kd.eventmanagement.backend.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Base45Test {
+
+	@Test
+	void encodesRfc9285Vectors() {
+		assertThat(Base45.encode(bytes("AB"))).isEqualTo("BB8");
+		assertThat(Base45.encode(bytes("Hello!!"))).isEqualTo("%69 VD92EX0");
+		assertThat(Base45.encode(bytes("base-45"))).isEqualTo("UJCLQE7W581");
+		assertThat(Base45.encode(bytes("ietf!"))).isEqualTo("QED8WEX0");
+	}
+
+	@Test
+	void decodesRfc9285Vectors() {
+		assertThat(decode("BB8")).isEqualTo(bytes("AB"));
+		assertThat(decode("%69 VD92EX0")).isEqualTo(bytes("Hello!!"));
+		assertThat(decode("UJCLQE7W581")).isEqualTo(bytes("base-45"));
+		assertThat(decode("QED8WEX0")).isEqualTo(bytes("ietf!"));
+	}
+
+	@Test
+	void roundTripsEveryLength() {
+		Random random = new Random(45);
+		for (int length = 0; length <= 64; length++) {
+			byte[] data = new byte[length];
+			random.nextBytes(data);
+			assertThat(decode(Base45.encode(data))).isEqualTo(data);
+		}
+	}
+
+	@Test
+	void rejectsValuesAboveTheirRange() {
+		// RFC 9285 section 4.2: "GGW" would be 65535 + 1 and is invalid
+		assertThat(decode("GGW")).isNull();
+		// Two trailing characters encode a single byte, so 255 is the maximum
+		assertThat(decode(":6")).isNull();
+	}
+
+	@Test
+	void rejectsMalformedInput() {
+		assertThat(decode("BB8A")).isNull();
+		assertThat(decode("bb8")).isNull();
+		assertThat(decode("BB٨")).isNull();
+		assertThat(decode("BÉ8")).isNull();
+	}
+
+	@Test
+	void rejectsOutputThatDoesNotFit() {
+		assertThat(Base45.decode("%69 VD92EX0", 0, 11, new byte[6])).isEqualTo(-1);
+	}
+
+	@Test
+	void decodesARangeOfTheInput() {
+		byte[] out = new byte[8];
+		int written = Base45.decode("EM2:BB8", 4, 7, out);
+		assertThat(Arrays.copyOf(out, written)).isEqualTo(bytes("AB"));
+	}
+
+	private static byte[] decode(String s) {
+		byte[] out = new byte[s.length()];
+		int written = Base45.decode(s, 0, s.length(), out);
+		return written < 0 ? null : Arrays.copyOf(out, written);
+	}
+
+	private static byte[] bytes(String s) {
+		return s.getBytes(StandardCharsets.US_ASCII);
+	}
+}
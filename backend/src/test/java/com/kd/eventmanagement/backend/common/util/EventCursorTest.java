@@ -0,0 +1,66 @@
+package com.kd.eventmanagement.backend.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventCursorTest {
+
+	@Test
+	void roundTrips() {
+		EventCursor cursor = new EventCursor(OffsetDateTime.of(2026, 5, 17, 8, 15, 30, 123_456_789, ZoneOffset.UTC), 9_876_543_210L);
+
+		assertThat(EventCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void isUrlSafeAndFixedLength() {
+		String encoded = new EventCursor(OffsetDateTime.now(ZoneOffset.UTC), Long.MAX_VALUE).encode();
+
+		// 20 bytes of unpadded base64
+		assertThat(encoded).hasSize(27).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void keepsTheInstantAcrossOffsets() {
+		OffsetDateTime local = OffsetDateTime.of(2026, 5, 17, 15, 15, 30, 0, ZoneOffset.ofHours(7));
+
+		EventCursor decoded = EventCursor.decode(new EventCursor(local, 1L).encode());
+
+		assertThat(decoded.createdAt().isEqual(local)).isTrue();
+		assertThat(decoded.createdAt().getOffset()).isEqualTo(ZoneOffset.UTC);
+	}
+
+	@Test
+	void handlesTimesBeforeTheEpoch() {
+		EventCursor cursor = new EventCursor(OffsetDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000, ZoneOffset.UTC), 1L);
+
+		assertThat(EventCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void rejectsValuesItDidNotProduce() {
+		String encoded = new EventCursor(OffsetDateTime.now(ZoneOffset.UTC), 42L).encode();
+
+		assertThat(EventCursor.decode("not a cursor!")).isNull();
+		assertThat(EventCursor.decode("")).isNull();
+		assertThat(EventCursor.decode(encoded.substring(0, encoded.length() - 2))).isNull();
+		assertThat(EventCursor.decode(encoded + "AAAA")).isNull();
+		// Standard base64 alphabet is not accepted by the URL decoder
+		assertThat(EventCursor.decode(encoded.replace('-', '+').replace('_', '/') + "+/")).isNull();
+	}
+
+	@Test
+	void rejectsOutOfRangeNanos() {
+		byte[] bytes = ByteBuffer.allocate(20).putLong(0).putInt(1_000_000_000).putLong(1).array();
+		byte[] negative = ByteBuffer.allocate(20).putLong(0).putInt(-1).putLong(1).array();
+
+		assertThat(EventCursor.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes))).isNull();
+		assertThat(EventCursor.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(negative))).isNull();
+	}
+}
@@ -0,0 +1,61 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelegramJsonTest {
+
+	private static final JsonMapper JSON = JsonMapper.builder().build();
+
+	@Test
+	void writesSendMessage() {
+		assertThat(TelegramJson.sendMessage("12345", "<b>Hi</b>"))
+				.isEqualTo("{\"chat_id\":\"12345\",\"text\":\"<b>Hi</b>\",\"parse_mode\":\"HTML\"}");
+	}
+
+	@Test
+	void escapesQuotesBackslashesAndControlCharacters() {
+		String text = "He said \"hi\" \\ bye\nline\r\ttab \u0000\u0001\u001f end";
+
+		assertThat(TelegramJson.sendMessage("1", text))
+				.contains("He said \\\"hi\\\" \\\\ bye\\nline\\r\\ttab \\u0000\\u0001\\u001f end");
+		assertThat(JSON.readTree(TelegramJson.sendMessage("1", text)).get("text").asString()).isEqualTo(text);
+	}
+
+	@Test
+	void keepsNonAsciiTextAsIs() {
+		String text = "សួស្តី 👋   ünïcode \u007f";
+
+		JsonNode body = JSON.readTree(TelegramJson.sendMessage("-1001", text));
+
+		assertThat(body.get("chat_id").asString()).isEqualTo("-1001");
+		assertThat(body.get("text").asString()).isEqualTo(text);
+	}
+
+	@Test
+	void writesWebAppButton() {
+		JsonNode body = JSON.readTree(TelegramJson.sendMessageWithWebAppButton(
+				"42", "Open \"tickets\"", "My \\ tickets", "https://example.com/app?x=1&y=\"2\""));
+
+		assertThat(body.get("chat_id").asString()).isEqualTo("42");
+		assertThat(body.get("text").asString()).isEqualTo("Open \"tickets\"");
+		assertThat(body.get("parse_mode").asString()).isEqualTo("HTML");
+		JsonNode button = body.get("reply_markup").get("inline_keyboard").get(0).get(0);
+		assertThat(button.get("text").asString()).isEqualTo("My \\ tickets");
+		assertThat(button.get("web_app").get("url").asString()).isEqualTo("https://example.com/app?x=1&y=\"2\"");
+	}
+
+	@Test
+	void escapedInjectionStaysInsideTheString() {
+		String text = "\",\"parse_mode\":\"MarkdownV2";
+
+		JsonNode body = JSON.readTree(TelegramJson.sendMessage("1", text));
+
+		assertThat(body.get("text").asString()).isEqualTo(text);
+		assertThat(body.get("parse_mode").asString()).isEqualTo("HTML");
+		assertThat(body.size()).isEqualTo(3);
+	}
+}
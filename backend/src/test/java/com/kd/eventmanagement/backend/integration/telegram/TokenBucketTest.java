@@ -0,0 +1,76 @@
+package com.kd.eventmanagement.backend.integration.telegram;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenBucketTest {
+
+	private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+	@Test
+	void startsFull() {
+		TokenBucket bucket = new TokenBucket(3, 1, now::get);
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void refillsContinuously() {
+		TokenBucket bucket = new TokenBucket(1, 2, now::get);
+		assertThat(bucket.tryAcquire()).isTrue();
+
+		advanceMillis(250);
+		assertThat(bucket.tryAcquire()).isFalse();
+		advanceMillis(250);
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void neverHoldsMoreThanCapacity() {
+		TokenBucket bucket = new TokenBucket(2, 30, now::get);
+
+		advanceMillis(TimeUnit.HOURS.toMillis(1));
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void reserveQueuesCallersBehindEachOther() {
+		TokenBucket bucket = new TokenBucket(1, 10, now::get);
+
+		assertThat(bucket.reserve()).isZero();
+		assertThat(bucket.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(100), within(1_000L));
+		assertThat(bucket.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(200), within(1_000L));
+
+		// Once the reserved tokens are due nothing is left over for anyone else
+		advanceMillis(200);
+		assertThat(bucket.tryAcquire()).isFalse();
+		assertThat(bucket.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(100), within(1_000L));
+	}
+
+	@Test
+	void tryAcquireDoesNotAddToTheDebt() {
+		TokenBucket bucket = new TokenBucket(1, 10, now::get);
+		bucket.reserve();
+		bucket.reserve();
+
+		assertThat(bucket.tryAcquire()).isFalse();
+		assertThat(bucket.tryAcquire()).isFalse();
+		assertThat(bucket.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(200), within(1_000L));
+	}
+
+	private void advanceMillis(long millis) {
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+}